@@ -0,0 +1,157 @@
+package com.example.dbmigration.service.impl;
+
+import com.example.dbmigration.config.MappingConfig;
+import com.example.dbmigration.config.MigrationProperties;
+import com.example.dbmigration.model.MigrationJob;
+import com.example.dbmigration.model.SliceProgress;
+import com.example.dbmigration.model.TableMapping;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The write side of {@link MigrationServiceImpl} as a slice writer runs it: batches
+ * read through the compiled accessors and handed to {@code writeBatch}, which writes
+ * each one in a nested transaction of the writer's {@link CommitGroup} and commits
+ * every {@code commitBatches} batches. The plan, the insert and the commit group are
+ * the ones the service builds for a conventional table mapping.
+ *
+ * <p>Every invocation moves {@value #ROWS} rows, so scores are rows per second. The
+ * difference to {@link RowPathBenchmark#copy} is what the savepoints, the transaction
+ * manager, the metrics and the progress updates cost per row.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(BatchWriteBenchmark.ROWS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchWriteBenchmark {
+
+    static final int ROWS = 10_000;
+    private static final String URL = "jdbc:h2:mem:batchwrite;MODE=Oracle;DB_CLOSE_DELAY=-1";
+    private static final String SOURCE_TABLE = "BENCH_SOURCE";
+    private static final String TARGET_TABLE = "BENCH_TARGET";
+
+    @Param({"NARROW", "WIDE", "NUMERIC", "LOB"})
+    public SyntheticTable table;
+
+    @Param({"1000"})
+    public int batchSize;
+
+    @Param({"1", "10"})
+    public int commitBatches;
+
+    private Connection source;
+    private SingleConnectionDataSource targetDataSource;
+    private JdbcTemplate targetJdbcTemplate;
+    private MigrationServiceImpl service;
+    private MigrationMetrics.SliceMetrics sliceMetrics;
+    private TableMapping mapping;
+    private TablePlan plan;
+    private String selectSql;
+    private RowBatch batch;
+
+    @Setup(Level.Trial)
+    public void createService() throws SQLException, IOException {
+        JdbcDataSource sourceDataSource = new JdbcDataSource();
+        sourceDataSource.setURL(URL);
+        source = sourceDataSource.getConnection();
+        targetDataSource = new SingleConnectionDataSource(URL, true);
+        table.create(source, SOURCE_TABLE, ROWS);
+        try (Connection connection = sourceDataSource.getConnection()) {
+            table.create(connection, TARGET_TABLE, 0);
+        }
+        targetJdbcTemplate = new JdbcTemplate(targetDataSource);
+
+        MigrationProperties properties = new MigrationProperties();
+        properties.getOutput().setFailedRecordsDir(Files.createTempDirectory("failed-records").toString());
+        MigrationMetrics metrics = new MigrationMetrics(new SimpleMeterRegistry());
+        // The services for checkpoints, watermarks and metadata are not used to write a batch
+        service = new MigrationServiceImpl(new JdbcTemplate(sourceDataSource), targetJdbcTemplate,
+                new DataSourceTransactionManager(targetDataSource), new MappingConfig(), properties,
+                null, null, null, metrics, null);
+        sliceMetrics = metrics.forTable(SOURCE_TABLE);
+
+        mapping = new TableMapping();
+        mapping.setSourceTable(SOURCE_TABLE);
+        mapping.setTargetTable(TARGET_TABLE);
+        mapping.setBatchSize(batchSize);
+        mapping.setCommitBatches(commitBatches);
+        plan = service.createPlan(mapping, table.getColumns());
+        selectSql = "SELECT " + String.join(", ", plan.getSelectColumns()) + " FROM " + SOURCE_TABLE;
+        batch = new RowBatch(plan.getAccessors(), batchSize);
+    }
+
+    @Setup(Level.Invocation)
+    public void truncateTarget() {
+        targetJdbcTemplate.execute("TRUNCATE TABLE " + TARGET_TABLE);
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws SQLException {
+        plan.close();
+        try (Statement statement = source.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        source.close();
+        targetDataSource.destroy();
+    }
+
+    /**
+     * Reads the source table into batches and writes them as one slice writer.
+     */
+    @Benchmark
+    public void write() throws SQLException {
+        ColumnAccessor[] accessors = plan.getAccessors();
+        SliceProgress progress = MigrationJob.untracked().addTable(SOURCE_TABLE, TARGET_TABLE).slice("bench");
+        CommitGroup commits = service.newCommitGroup(mapping, null);
+        try (PreparedStatement select = source.prepareStatement(selectSql)) {
+            select.setFetchSize(batchSize);
+            try (ResultSet rs = select.executeQuery()) {
+                batch.clear();
+                while (rs.next()) {
+                    MigrationServiceImpl.readRow(rs, accessors, batch);
+                    if (batch.isFull()) {
+                        service.writeBatch(plan, batch, mapping, progress, sliceMetrics, commits);
+                        batch.clear();
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    service.writeBatch(plan, batch, mapping, progress, sliceMetrics, commits);
+                    batch.clear();
+                }
+            }
+            commits.commit();
+        } catch (RuntimeException | SQLException e) {
+            commits.rollback();
+            throw e;
+        }
+    }
+}
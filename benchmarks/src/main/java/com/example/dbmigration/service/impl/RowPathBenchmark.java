@@ -0,0 +1,349 @@
+package com.example.dbmigration.service.impl;
+
+import com.example.dbmigration.model.ColumnInfo;
+import com.example.dbmigration.model.LobMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * The row path of {@link MigrationServiceImpl} against an in-memory H2 database in
+ * Oracle mode: source rows read into {@link RowBatch}es through the accessors compiled
+ * by {@link TablePlan}, then bound batch by batch onto the target insert.
+ *
+ * <p>Every invocation moves {@value #ROWS} rows, so scores are rows per second, and
+ * with {@code -prof gc} the {@code gc.alloc.rate.norm} column is bytes allocated per
+ * row. Two copies are there for comparison: {@link #copyBaseline} reads and binds rows
+ * as the service did before the accessors and the columnar batches, and
+ * {@link #copyGeneric} goes through getObject and setObject. Only the read and bind
+ * helpers are used here; {@link BatchWriteBenchmark} writes through the service itself.
+ *
+ * <p>H2 has no network round trips and its own LOB storage, so absolute numbers say
+ * little about a real Oracle target; compare runs of this benchmark with each other.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(RowPathBenchmark.ROWS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RowPathBenchmark {
+
+    static final int ROWS = 10_000;
+    private static final String SOURCE_TABLE = "BENCH_SOURCE";
+    private static final String TARGET_TABLE = "BENCH_TARGET";
+
+    @Param({"NARROW", "WIDE", "NUMERIC", "LOB"})
+    public SyntheticTable table;
+
+    @Param({"100", "1000", "5000"})
+    public int batchSize;
+
+    private Connection source;
+    private Connection target;
+    private TablePlan plan;
+    private String selectSql;
+    private String baselineSelectSql;
+    private String insertSql;
+    private RowBatch batch;
+
+    @Setup(Level.Trial)
+    public void createTables() throws SQLException {
+        source = DriverManager.getConnection("jdbc:h2:mem:rowpath;MODE=Oracle;DB_CLOSE_DELAY=-1");
+        target = DriverManager.getConnection("jdbc:h2:mem:rowpath;MODE=Oracle;DB_CLOSE_DELAY=-1");
+        table.create(source, SOURCE_TABLE, ROWS);
+        table.create(target, TARGET_TABLE, 0);
+        target.setAutoCommit(false);
+        plan = TablePlan.compile(table.getColumns(), null, LobMode.STREAM);
+        selectSql = "SELECT " + String.join(", ", plan.getSelectColumns()) + " FROM " + SOURCE_TABLE;
+        baselineSelectSql = "SELECT " + table.getColumns().stream().map(ColumnInfo::getName).collect(Collectors.joining(", "))
+                + " FROM " + SOURCE_TABLE;
+        insertSql = MigrationServiceImpl.buildInsertSql(TARGET_TABLE, plan.getColumns(), false);
+        batch = new RowBatch(plan.getAccessors(), batchSize);
+    }
+
+    @Setup(Level.Invocation)
+    public void truncateTarget() throws SQLException {
+        try (Statement statement = target.createStatement()) {
+            statement.execute("TRUNCATE TABLE " + TARGET_TABLE);
+        }
+        target.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws SQLException {
+        try (Statement statement = source.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        source.close();
+        target.close();
+    }
+
+    /**
+     * Reads the source table into batches without writing them.
+     */
+    @Benchmark
+    public void read(Blackhole blackhole) throws SQLException {
+        ColumnAccessor[] accessors = plan.getAccessors();
+        try (PreparedStatement ps = source.prepareStatement(selectSql)) {
+            ps.setFetchSize(batchSize);
+            try (ResultSet rs = ps.executeQuery()) {
+                batch.clear();
+                while (rs.next()) {
+                    MigrationServiceImpl.readRow(rs, accessors, batch);
+                    if (batch.isFull()) {
+                        blackhole.consume(batch.getValue(0, batch.size() - 1));
+                        release(batch);
+                        batch.clear();
+                    }
+                }
+                release(batch);
+            }
+        }
+    }
+
+    /**
+     * Reads the source table into batches and inserts every batch into the target.
+     */
+    @Benchmark
+    public void copy() throws SQLException {
+        ColumnAccessor[] accessors = plan.getAccessors();
+        try (PreparedStatement select = source.prepareStatement(selectSql);
+             PreparedStatement insert = target.prepareStatement(insertSql)) {
+            select.setFetchSize(batchSize);
+            try (ResultSet rs = select.executeQuery()) {
+                batch.clear();
+                while (rs.next()) {
+                    MigrationServiceImpl.readRow(rs, accessors, batch);
+                    if (batch.isFull()) {
+                        write(insert, accessors);
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    write(insert, accessors);
+                }
+            }
+        }
+    }
+
+    /**
+     * {@link #copy} through getObject and setObject on row arrays.
+     */
+    @Benchmark
+    public void copyGeneric() throws SQLException {
+        int columnCount = plan.getColumns().size();
+        Object[][] rows = new Object[batchSize][];
+        try (PreparedStatement select = source.prepareStatement(selectSql);
+             PreparedStatement insert = target.prepareStatement(insertSql)) {
+            select.setFetchSize(batchSize);
+            try (ResultSet rs = select.executeQuery()) {
+                int size = 0;
+                while (rs.next()) {
+                    Object[] values = new Object[columnCount];
+                    for (int c = 0; c < columnCount; c++) {
+                        values[c] = rs.getObject(c + 1);
+                    }
+                    rows[size++] = values;
+                    if (size == batchSize) {
+                        writeGeneric(insert, rows, size);
+                        size = 0;
+                    }
+                }
+                if (size > 0) {
+                    writeGeneric(insert, rows, size);
+                }
+            }
+        }
+    }
+
+    /**
+     * {@link #copy} as the service did it before the accessors: every row a map keyed
+     * by column name, read and bound through a switch on the data type per value, with
+     * LOBs materialized as byte arrays and strings.
+     */
+    @Benchmark
+    public void copyBaseline() throws SQLException {
+        List<ColumnInfo> columns = table.getColumns();
+        List<Map<String, Object>> rows = new ArrayList<>();
+        try (PreparedStatement select = source.prepareStatement(baselineSelectSql);
+             PreparedStatement insert = target.prepareStatement(insertSql)) {
+            select.setFetchSize(batchSize);
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    Map<String, Object> row = new HashMap<>();
+                    for (ColumnInfo column : columns) {
+                        row.put(column.getName(), getColumnValue(rs, column));
+                    }
+                    rows.add(row);
+                    if (rows.size() >= batchSize) {
+                        writeBaseline(insert, rows, columns);
+                        rows.clear();
+                    }
+                }
+                if (!rows.isEmpty()) {
+                    writeBaseline(insert, rows, columns);
+                }
+            }
+        }
+    }
+
+    private void write(PreparedStatement insert, ColumnAccessor[] accessors) throws SQLException {
+        for (int row = 0; row < batch.size(); row++) {
+            for (ColumnAccessor accessor : accessors) {
+                accessor.bind(insert, batch, row);
+            }
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        target.commit();
+        release(batch);
+        batch.clear();
+    }
+
+    private void writeGeneric(PreparedStatement insert, Object[][] rows, int size) throws SQLException {
+        for (int row = 0; row < size; row++) {
+            Object[] values = rows[row];
+            for (int c = 0; c < values.length; c++) {
+                insert.setObject(c + 1, values[c]);
+            }
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        target.commit();
+    }
+
+    private void writeBaseline(PreparedStatement insert, List<Map<String, Object>> rows, List<ColumnInfo> columns)
+            throws SQLException {
+        for (Map<String, Object> row : rows) {
+            int index = 1;
+            for (ColumnInfo column : columns) {
+                Object value = row.get(column.getName());
+                if (value == null) {
+                    insert.setNull(index++, getSqlType(column.getDataType()));
+                } else {
+                    setParameterValue(insert, index++, value, column);
+                }
+            }
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        target.commit();
+    }
+
+    private static Object getColumnValue(ResultSet rs, ColumnInfo column) throws SQLException {
+        String columnName = column.getName();
+        switch (column.getDataType()) {
+            case "NUMBER":
+                if (column.getScale() > 0) {
+                    return rs.getBigDecimal(columnName);
+                } else {
+                    return rs.getLong(columnName);
+                }
+            case "VARCHAR2":
+                return rs.getString(columnName);
+            case "TIMESTAMP(6)":
+                return rs.getTimestamp(columnName);
+            case "DATE":
+                return rs.getDate(columnName);
+            case "BLOB":
+                Blob blob = rs.getBlob(columnName);
+                return blob != null ? blob.getBytes(1, (int) blob.length()) : null;
+            case "CLOB":
+                Clob clob = rs.getClob(columnName);
+                return clob != null ? clob.getSubString(1, (int) clob.length()) : null;
+            default:
+                return rs.getObject(columnName);
+        }
+    }
+
+    private static int getSqlType(String dataType) {
+        switch (dataType) {
+            case "NUMBER":
+                return Types.NUMERIC;
+            case "VARCHAR2":
+                return Types.VARCHAR;
+            case "TIMESTAMP(6)":
+                return Types.TIMESTAMP;
+            case "DATE":
+                return Types.DATE;
+            case "BLOB":
+                return Types.BLOB;
+            case "CLOB":
+                return Types.CLOB;
+            default:
+                return Types.OTHER;
+        }
+    }
+
+    private static void setParameterValue(PreparedStatement ps, int index, Object value, ColumnInfo column)
+            throws SQLException {
+        switch (column.getDataType()) {
+            case "NUMBER":
+                if (value instanceof Number) {
+                    ps.setObject(index, value);
+                } else {
+                    ps.setNull(index, Types.NUMERIC);
+                }
+                break;
+            case "VARCHAR2":
+                ps.setString(index, (String) value);
+                break;
+            case "TIMESTAMP(6)":
+                ps.setTimestamp(index, (Timestamp) value);
+                break;
+            case "DATE":
+                ps.setDate(index, (Date) value);
+                break;
+            case "BLOB":
+                ps.setBytes(index, (byte[]) value);
+                break;
+            case "CLOB":
+                ps.setString(index, (String) value);
+                break;
+            default:
+                ps.setObject(index, value);
+        }
+    }
+
+    /**
+     * Releases streamed LOB locators, as processBatch does once a batch is written.
+     */
+    private void release(RowBatch batch) {
+        for (ColumnAccessor accessor : plan.getLobAccessors()) {
+            for (int row = 0; row < batch.size(); row++) {
+                accessor.release(batch, row);
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.dbmigration.service.impl;
+
+import com.example.dbmigration.model.ColumnInfo;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Shapes of the generated source tables. Columns are described the way the Oracle
+ * dictionary reports them, so the accessors compiled for a shape are the ones a
+ * migration of such a table uses.
+ */
+public enum SyntheticTable {
+    /** A key and three short columns. */
+    NARROW(column("ID", "NUMBER", 0, 19, 0),
+           column("CODE", "VARCHAR2", 20, 0, 0),
+           column("AMOUNT", "NUMBER", 0, 12, 2),
+           column("CREATED_AT", "TIMESTAMP(6)", 0, 0, 0)),
+    /** A key and forty mixed columns of typical width. */
+    WIDE(repeat(10,
+           column("NAME", "VARCHAR2", 100, 0, 0),
+           column("QUANTITY", "NUMBER", 0, 10, 0),
+           column("PRICE", "NUMBER", 0, 12, 2),
+           column("UPDATED_ON", "DATE", 0, 0, 0))),
+    /** A key and integer, decimal and floating point columns only. */
+    NUMERIC(repeat(8,
+           column("COUNT", "NUMBER", 0, 18, 0),
+           column("RATE", "NUMBER", 0, 20, 4),
+           column("MEASURE", "BINARY_DOUBLE", 0, 0, 0))),
+    /** A key, a name and a character and a binary LOB of a few KB each. */
+    LOB(column("ID", "NUMBER", 0, 19, 0),
+        column("NAME", "VARCHAR2", 50, 0, 0),
+        column("DOC", "CLOB", 0, 0, 0),
+        column("IMAGE", "BLOB", 0, 0, 0));
+
+    private static final int LOB_BYTES = 4096;
+    private static final long EPOCH_MILLIS = Timestamp.valueOf("2024-01-01 00:00:00").getTime();
+
+    private final List<ColumnInfo> columns;
+
+    SyntheticTable(ColumnInfo... columns) {
+        this.columns = List.of(columns);
+    }
+
+    List<ColumnInfo> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Creates the table, dropping it first, and fills it with {@code rows} generated rows.
+     */
+    void create(Connection connection, String tableName, int rows) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + tableName);
+            statement.execute("CREATE TABLE " + tableName + " (" +
+                columns.stream().map(c -> c.getName() + " " + ddlType(c)).collect(Collectors.joining(", ")) + ")");
+        }
+        if (rows == 0) {
+            return;
+        }
+        String sql = MigrationServiceImpl.buildInsertSql(tableName, columns, false);
+        Random random = new Random(42);
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (int row = 0; row < rows; row++) {
+                for (int c = 0; c < columns.size(); c++) {
+                    ps.setObject(c + 1, value(columns.get(c), row, random));
+                }
+                ps.addBatch();
+                if (row % 1000 == 999) {
+                    ps.executeBatch();
+                }
+            }
+            ps.executeBatch();
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static Object value(ColumnInfo column, int row, Random random) {
+        switch (column.getDataType()) {
+            case "NUMBER":
+                if (column.getScale() == 0) {
+                    return column.getName().equals("ID") ? row : random.nextLong() % (long) Math.pow(10, column.getPrecision() - 1);
+                }
+                return BigDecimal.valueOf(random.nextLong() % (long) Math.pow(10, column.getPrecision() - 1), column.getScale());
+            case "BINARY_DOUBLE":
+                return random.nextDouble() * 1e6;
+            case "VARCHAR2":
+                return text(random, 1 + random.nextInt(column.getLength()));
+            case "TIMESTAMP(6)":
+                return new Timestamp(EPOCH_MILLIS + row * 1000L + random.nextInt(1000));
+            case "DATE":
+                return new Date(EPOCH_MILLIS + row * 86_400_000L);
+            case "CLOB":
+                return text(random, LOB_BYTES);
+            case "BLOB":
+                byte[] bytes = new byte[LOB_BYTES];
+                random.nextBytes(bytes);
+                return bytes;
+            default:
+                throw new IllegalArgumentException("No generator for " + column.getDataType());
+        }
+    }
+
+    private static String text(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(chars);
+    }
+
+    private static String ddlType(ColumnInfo column) {
+        switch (column.getDataType()) {
+            case "NUMBER":
+                return "NUMBER(" + column.getPrecision() + "," + column.getScale() + ")";
+            case "VARCHAR2":
+                return "VARCHAR2(" + column.getLength() + ")";
+            default:
+                return column.getDataType();
+        }
+    }
+
+    private static ColumnInfo column(String name, String dataType, int length, int precision, int scale) {
+        ColumnInfo column = new ColumnInfo();
+        column.setName(name);
+        column.setDataType(dataType);
+        column.setLength(length);
+        column.setPrecision(precision);
+        column.setScale(scale);
+        return column;
+    }
+
+    /**
+     * A key column followed by {@code times} numbered copies of the given columns.
+     */
+    private static ColumnInfo[] repeat(int times, ColumnInfo... group) {
+        List<ColumnInfo> columns = new ArrayList<>();
+        columns.add(column("ID", "NUMBER", 0, 19, 0));
+        for (int i = 1; i <= times; i++) {
+            for (ColumnInfo column : group) {
+                columns.add(column.withName(column.getName() + "_" + i));
+            }
+        }
+        return columns.toArray(new ColumnInfo[0]);
+    }
+}
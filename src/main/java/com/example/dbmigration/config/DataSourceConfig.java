@@ -1,47 +1,129 @@
 package com.example.dbmigration.config;
 
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.context.properties.ConfigurationProperties;
-import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
 
+@Slf4j
 @Configuration
 public class DataSourceConfig {
 
+    private static final String SOURCE_PREFIX = "spring.datasource.source";
+    private static final String TARGET_PREFIX = "spring.datasource.target";
+
     @Value("${spring.datasource.source.schema:}")
     private String sourceSchema;
 
     @Value("${spring.datasource.target.schema:}")
     private String targetSchema;
 
+    /**
+     * Every slice worker holds a source session for its cursor, and verification
+     * workers one for their chunk queries.
+     */
     @Primary
     @Bean(name = "sourceDataSource")
-    @ConfigurationProperties(prefix = "spring.datasource.source")
-    public DataSource sourceDataSource() {
-        HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class).build();
-        if (sourceSchema != null && !sourceSchema.isEmpty()) {
-            dataSource.setSchema(sourceSchema);
-        }
+    public DataSource sourceDataSource(Environment environment, MigrationProperties properties,
+                                       ObjectProvider<MeterRegistry> meterRegistry) {
+        MigrationProperties.Connections connections = properties.getConnections();
+        int workers = Math.max(properties.getScheduler().getMaxWorkers(), properties.getVerification().getConcurrency());
+        HikariDataSource dataSource = createDataSource(environment, SOURCE_PREFIX, sourceSchema);
+        configurePool(dataSource, connections, workers + connections.getReserved(), connections.getSourceSessionSql());
+        bindMetrics(dataSource, meterRegistry);
         return dataSource;
     }
 
+    /**
+     * Every batch writer of a slice holds a target session until the slice is done, and
+     * verification workers one for their chunk queries.
+     */
     @Bean(name = "targetDataSource")
-    @ConfigurationProperties(prefix = "spring.datasource.target")
-    public DataSource targetDataSource() {
-        HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class).build();
-        if (targetSchema != null && !targetSchema.isEmpty()) {
-            dataSource.setSchema(targetSchema);
+    public DataSource targetDataSource(Environment environment, MigrationProperties properties,
+                                       ObjectProvider<MeterRegistry> meterRegistry) {
+        MigrationProperties.Connections connections = properties.getConnections();
+        int writers = Math.max(properties.getScheduler().getMaxWorkers() * Math.max(connections.getWritersPerWorker(), 1),
+            properties.getVerification().getConcurrency());
+        HikariDataSource dataSource = createDataSource(environment, TARGET_PREFIX, targetSchema);
+        configurePool(dataSource, connections, writers + connections.getReserved(), connections.getTargetSessionSql());
+        bindMetrics(dataSource, meterRegistry);
+        return dataSource;
+    }
+
+    /**
+     * Binds the generic url, username and password through {@link DataSourceProperties},
+     * since Hikari itself only knows {@code jdbc-url}, then the pool settings onto Hikari.
+     */
+    private static HikariDataSource createDataSource(Environment environment, String prefix, String schema) {
+        Binder binder = Binder.get(environment);
+        DataSourceProperties properties = binder.bind(prefix, DataSourceProperties.class).orElseGet(DataSourceProperties::new);
+        try {
+            properties.afterPropertiesSet();
+        } catch (Exception e) {
+            throw new IllegalStateException("Invalid data source settings under " + prefix, e);
+        }
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind(prefix, Bindable.ofInstance(dataSource));
+        if (schema != null && !schema.isEmpty()) {
+            dataSource.setSchema(schema);
         }
         return dataSource;
     }
 
+    private static void configurePool(HikariDataSource dataSource, MigrationProperties.Connections connections,
+                                      int required, List<String> sessionSql) {
+        if (connections.isSizePools() && dataSource.getMaximumPoolSize() < required) {
+            log.info("Raising maximum size of pool {} from {} to {} connections for the configured workers",
+                dataSource.getPoolName(), dataSource.getMaximumPoolSize(), required);
+            dataSource.setMaximumPoolSize(required);
+        }
+        if (!sessionSql.isEmpty()) {
+            dataSource.setConnectionInitSql(sessionBlock(dataSource.getConnectionInitSql(), sessionSql));
+        }
+    }
+
+    /**
+     * Hikari runs a single init statement per new connection, so the session settings
+     * are combined into one anonymous block, after any configured connection-init-sql.
+     */
+    private static String sessionBlock(String initSql, List<String> sessionSql) {
+        List<String> statements = new ArrayList<>();
+        if (initSql != null && !initSql.isEmpty()) {
+            statements.add(initSql);
+        }
+        statements.addAll(sessionSql);
+        StringBuilder block = new StringBuilder("BEGIN ");
+        for (String statement : statements) {
+            block.append("EXECUTE IMMEDIATE '").append(statement.trim().replace("'", "''")).append("'; ");
+        }
+        return block.append("END;").toString();
+    }
+
+    /**
+     * Registers the pool's connection acquire/usage timers up front. Boot binds them only
+     * after startup, which Hikari rejects once a pool has handed out its first connection.
+     */
+    private static void bindMetrics(HikariDataSource dataSource, ObjectProvider<MeterRegistry> meterRegistry) {
+        meterRegistry.ifAvailable(registry -> dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+    }
+
     @Primary
     @Bean(name = "sourceJdbcTemplate")
     public JdbcTemplate sourceJdbcTemplate(@Qualifier("sourceDataSource") DataSource dataSource) {
@@ -52,4 +134,15 @@ public class DataSourceConfig {
     public JdbcTemplate targetJdbcTemplate(@Qualifier("targetDataSource") DataSource dataSource) {
         return new JdbcTemplate(dataSource);
     }
+
+    @Primary
+    @Bean(name = "sourceTransactionManager")
+    public PlatformTransactionManager sourceTransactionManager(@Qualifier("sourceDataSource") DataSource dataSource) {
+        return new DataSourceTransactionManager(dataSource);
+    }
+
+    @Bean(name = "targetTransactionManager")
+    public PlatformTransactionManager targetTransactionManager(@Qualifier("targetDataSource") DataSource dataSource) {
+        return new DataSourceTransactionManager(dataSource);
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.example.dbmigration.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Slf4j
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Virtual threads need Java 21; on an older runtime the setting is ignored with a
+     * warning, so the same configuration can be deployed before and after the upgrade.
+     */
+    @Bean
+    public WorkerExecutors workerExecutors(MigrationProperties properties,
+                                           @Qualifier("sourceDataSource") DataSource sourceDataSource,
+                                           @Qualifier("targetDataSource") DataSource targetDataSource) {
+        boolean virtualThreads = properties.getExecutor().isVirtualThreads();
+        if (virtualThreads && Runtime.version().feature() < 21) {
+            log.warn("Virtual threads need Java 21 or later, running on {}; migration workers use platform threads",
+                Runtime.version());
+            virtualThreads = false;
+        }
+        if (virtualThreads) {
+            log.info("Migration workers run on virtual threads");
+        }
+        return new WorkerExecutors(virtualThreads, sourceDataSource, maxPoolSize(sourceDataSource),
+            targetDataSource, maxPoolSize(targetDataSource));
+    }
+
+    private static int maxPoolSize(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikari) {
+            return hikari.getMaximumPoolSize();
+        }
+        return Integer.MAX_VALUE;
+    }
+}
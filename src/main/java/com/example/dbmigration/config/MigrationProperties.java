@@ -0,0 +1,152 @@
+package com.example.dbmigration.config;
+
+import com.example.dbmigration.model.SnapshotCompression;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Global migration settings bound from {@code app.migration.*}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.migration")
+public class MigrationProperties {
+
+    private Batch batch = new Batch();
+    private Commit commit = new Commit();
+    private Read read = new Read();
+    private Checkpoint checkpoint = new Checkpoint();
+    private Retry retry = new Retry();
+    private Output output = new Output();
+    private Lob lob = new Lob();
+    private Jobs jobs = new Jobs();
+    private Scheduler scheduler = new Scheduler();
+    private Incremental incremental = new Incremental();
+    private Executor executor = new Executor();
+    private Verification verification = new Verification();
+    private Snapshot snapshot = new Snapshot();
+    private Connections connections = new Connections();
+
+    @Data
+    public static class Batch {
+        /** Batch size of mappings that do not set one, and the starting point in adaptive mode. */
+        private int size = 1000;
+        /** Tune the batch size and fetch size per table from measured write throughput. */
+        private boolean adaptive = false;
+        private int minSize = 100;
+        private int maxSize = 20000;
+        /** Cap on the estimated bytes per batch, bounding the undo and redo of one target batch. */
+        private long maxBytes = 8L * 1024 * 1024;
+        /** A batch write slower than this halves the batch size. */
+        private long maxLatencyMs = 5000;
+    }
+
+    @Data
+    public static class Commit {
+        /** Batches a writer adds to one target transaction before committing it. */
+        private int batches = 1;
+        /** Also commit once a writer's open transaction holds this many estimated bytes; 0 for no limit. */
+        private long maxBytes = 0;
+        /** Commit with COMMIT WRITE BATCH NOWAIT, not waiting for the redo to reach disk. */
+        private boolean async = false;
+    }
+
+    @Data
+    public static class Read {
+        /** Rows per source round trip; 0 follows the batch size. */
+        private int fetchSize = 0;
+        /** Bytes of LOB content prefetched with each locator, -1 to disable; driver default when not set. */
+        private Integer lobPrefetchSize;
+        /** Degree for a PARALLEL hint on source queries; no hint when not set. */
+        private Integer parallelDegree;
+    }
+
+    @Data
+    public static class Checkpoint {
+        private boolean enabled = true;
+        private String tableName = "MIGRATION_CHECKPOINTS";
+    }
+
+    @Data
+    public static class Retry {
+        private int maxAttempts = 3;
+        private long delayMs = 1000;
+    }
+
+    @Data
+    public static class Output {
+        private String baseDir = "./output";
+        private String failedRecordsDir = "./output/failed-records";
+        /** Size at which a table's failed-records file rolls over to a new one. */
+        private long failedRecordsMaxFileBytes = 100L * 1024 * 1024;
+    }
+
+    @Data
+    public static class Lob {
+        /** Upper bound on LOB values held by one batch; divided by the number of LOB columns. */
+        private int batchRows = 200;
+    }
+
+    @Data
+    public static class Incremental {
+        private String watermarkTable = "MIGRATION_WATERMARKS";
+    }
+
+    @Data
+    public static class Scheduler {
+        /** Mappings of one job migrated at the same time. */
+        private int maxTables = 1;
+        /** Slice workers shared by the running mappings; also capped by the source pool size. */
+        private int maxWorkers = 8;
+    }
+
+    @Data
+    public static class Executor {
+        /** Run table, slice and writer workers on virtual threads; needs Java 21. */
+        private boolean virtualThreads = false;
+    }
+
+    @Data
+    public static class Verification {
+        /** Key ranges each table is compared in; more chunks narrow down differences further. */
+        private int chunks = 64;
+        /** Chunks compared at the same time; also capped by the pool sizes. */
+        private int concurrency = 4;
+    }
+
+    @Data
+    public static class Snapshot {
+        /** Directory snapshot files are exported to and imported from, one file per mapping. */
+        private String directory = "./output/snapshots";
+        private SnapshotCompression compression = SnapshotCompression.NONE;
+    }
+
+    @Data
+    public static class Connections {
+        /**
+         * Raise the pools' maximum-pool-size to what {@code scheduler.max-workers} needs:
+         * a source connection per worker, and {@code writers-per-worker} target connections.
+         */
+        private boolean sizePools = true;
+        /** Writer count the target pool is sized for; mappings may use more or fewer. */
+        private int writersPerWorker = 1;
+        /** Connections added to both pools for metadata, checkpoint and status queries. */
+        private int reserved = 2;
+        /** Statements run on every new source session, e.g. ALTER SESSION SET NLS_... */
+        private List<String> sourceSessionSql = new ArrayList<>();
+        /** Statements run on every new target session, e.g. ALTER SESSION ENABLE PARALLEL DML. */
+        private List<String> targetSessionSql = new ArrayList<>();
+    }
+
+    @Data
+    public static class Jobs {
+        /** Submitted jobs beyond this limit wait in the queue. */
+        private int maxConcurrent = 1;
+        /** Finished or cancelled jobs kept for polling; the oldest are dropped beyond this. */
+        private int retainFinished = 100;
+    }
+}
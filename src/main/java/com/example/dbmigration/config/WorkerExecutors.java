@@ -0,0 +1,127 @@
+package com.example.dbmigration.config;
+
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.jdbc.datasource.ConnectionHolder;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Creates the executors that table, slice and batch writer workers run on.
+ *
+ * <p>On platform threads an executor has one thread per allowed worker, so its size
+ * bounds the concurrency. On virtual threads every task gets a thread of its own and
+ * workers instead take a permit for the connection they hold: one permit per
+ * connection of the source or target pool. A worker waiting for a connection then
+ * parks a virtual thread rather than timing out in the pool, so a mapping may queue
+ * any number of slices or partitions without sizing a thread pool for them.
+ *
+ * <p>Either way a worker keeps one session for as long as it runs: the connection is
+ * bound to the worker's thread, so every JdbcTemplate call and transaction of the
+ * worker runs on it instead of borrowing a connection from the pool per batch.
+ */
+public class WorkerExecutors {
+
+    private final boolean virtualThreads;
+    private final DataSource sourceDataSource;
+    private final DataSource targetDataSource;
+    private final Semaphore sourceConnections;
+    private final Semaphore targetConnections;
+    private final int sourcePoolSize;
+    private final int targetPoolSize;
+
+    WorkerExecutors(boolean virtualThreads, DataSource sourceDataSource, int sourcePoolSize,
+                    DataSource targetDataSource, int targetPoolSize) {
+        this.virtualThreads = virtualThreads;
+        this.sourceDataSource = sourceDataSource;
+        this.targetDataSource = targetDataSource;
+        this.sourcePoolSize = sourcePoolSize;
+        this.targetPoolSize = targetPoolSize;
+        this.sourceConnections = virtualThreads ? new Semaphore(Math.max(sourcePoolSize, 1), true) : null;
+        this.targetConnections = virtualThreads ? new Semaphore(Math.max(targetPoolSize, 1), true) : null;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Maximum size of the source connection pool, or {@link Integer#MAX_VALUE} when the
+     * data source is not a pool with a known limit.
+     */
+    public int getSourcePoolSize() {
+        return sourcePoolSize;
+    }
+
+    public int getTargetPoolSize() {
+        return targetPoolSize;
+    }
+
+    /**
+     * Returns an executor for up to {@code threads} concurrent workers. On virtual
+     * threads it starts a thread per task and leaves bounding them to the caller.
+     */
+    public ExecutorService newExecutor(String threadPrefix, int threads) {
+        if (virtualThreads) {
+            return Executors.newCachedThreadPool(new VirtualThreadTaskExecutor(threadPrefix).getVirtualThreadFactory());
+        }
+        return Executors.newFixedThreadPool(Math.max(threads, 1), new CustomizableThreadFactory(threadPrefix));
+    }
+
+    /**
+     * Workers waiting for a source connection permit; always 0 on platform threads,
+     * where they wait in the pool instead.
+     */
+    public int getSourceWaiting() {
+        return sourceConnections != null ? sourceConnections.getQueueLength() : 0;
+    }
+
+    public int getTargetWaiting() {
+        return targetConnections != null ? targetConnections.getQueueLength() : 0;
+    }
+
+    /**
+     * Runs a worker that holds a source connection throughout, such as a slice reader.
+     */
+    public <T> T withSourceConnection(Callable<T> task) throws Exception {
+        return withSession(sourceConnections, sourceDataSource, task);
+    }
+
+    /**
+     * Runs a worker that holds a target connection throughout, such as a batch writer.
+     */
+    public <T> T withTargetConnection(Callable<T> task) throws Exception {
+        return withSession(targetConnections, targetDataSource, task);
+    }
+
+    private static <T> T withSession(Semaphore permits, DataSource dataSource, Callable<T> task) throws Exception {
+        if (TransactionSynchronizationManager.hasResource(dataSource)) {
+            // A nested worker call on a thread that already holds its session
+            return task.call();
+        }
+        if (permits != null) {
+            permits.acquire();
+        }
+        try {
+            Connection connection = DataSourceUtils.getConnection(dataSource);
+            TransactionSynchronizationManager.bindResource(dataSource, new ConnectionHolder(connection));
+            try {
+                return task.call();
+            } finally {
+                TransactionSynchronizationManager.unbindResource(dataSource);
+                DataSourceUtils.releaseConnection(connection, dataSource);
+            }
+        } finally {
+            if (permits != null) {
+                permits.release();
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.dbmigration.controller;
 
+import com.example.dbmigration.model.PoolStats;
 import com.example.dbmigration.service.DatabaseConnectionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -9,6 +10,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -42,4 +44,10 @@ public class DatabaseConnectionController {
     public ResponseEntity<Boolean> testTargetConnection() {
         return ResponseEntity.ok(databaseConnectionService.testTargetConnection());
     }
-} 
\ No newline at end of file
+
+    @GetMapping("/pools")
+    @Operation(summary = "Connection Pool Stats", description = "Usage and connection wait times of the source and target pools")
+    public ResponseEntity<List<PoolStats>> getPoolStats() {
+        return ResponseEntity.ok(databaseConnectionService.getPoolStats());
+    }
+}
\ No newline at end of file
@@ -2,7 +2,9 @@ package com.example.dbmigration.controller;
 
 import com.example.dbmigration.config.MappingConfig;
 import com.example.dbmigration.model.MappingRequest;
-import com.example.dbmigration.service.MigrationService;
+import com.example.dbmigration.model.MigrationJob;
+import com.example.dbmigration.service.MetadataService;
+import com.example.dbmigration.service.MigrationJobService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -15,6 +17,7 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -23,12 +26,15 @@ import java.util.Map;
 @Tag(name = "Migration API", description = "API for database migration operations")
 public class MigrationController {
 
-    private final MigrationService migrationService;
+    private final MigrationJobService migrationJobService;
     private final MappingConfig mappingConfig;
+    private final MetadataService metadataService;
 
-    public MigrationController(MigrationService migrationService, MappingConfig mappingConfig) {
-        this.migrationService = migrationService;
+    public MigrationController(MigrationJobService migrationJobService, MappingConfig mappingConfig,
+                               MetadataService metadataService) {
+        this.migrationJobService = migrationJobService;
         this.mappingConfig = mappingConfig;
+        this.metadataService = metadataService;
     }
 
     @PostMapping("/config")
@@ -48,35 +54,107 @@ public class MigrationController {
     }
 
     @PostMapping("/tables")
-    @Operation(summary = "Migrate all tables", description = "Start migration for all configured tables")
-    public ResponseEntity<Map<String, String>> migrateTables() {
-        migrationService.migrateAllTables();
-        
-        Map<String, String> response = new HashMap<>();
-        response.put("status", "success");
-        response.put("message", "Tables migration completed");
-        return ResponseEntity.ok(response);
+    @Operation(summary = "Migrate all tables", description = "Submit a job migrating all configured tables")
+    public ResponseEntity<Map<String, Object>> migrateTables() {
+        return accepted(migrationJobService.submitTables(), "Tables migration submitted");
     }
 
     @PostMapping("/partitions")
-    @Operation(summary = "Migrate all partitions", description = "Start migration for all configured partitions")
-    public ResponseEntity<Map<String, String>> migratePartitions() {
-        migrationService.migrateAllPartitions();
-        
-        Map<String, String> response = new HashMap<>();
-        response.put("status", "success");
-        response.put("message", "Partitions migration completed");
-        return ResponseEntity.ok(response);
+    @Operation(summary = "Migrate all partitions", description = "Submit a job migrating all configured partitions")
+    public ResponseEntity<Map<String, Object>> migratePartitions() {
+        return accepted(migrationJobService.submitPartitions(), "Partitions migration submitted");
     }
 
     @PostMapping("/all")
-    @Operation(summary = "Migrate all data", description = "Start migration for all configured tables and partitions")
-    public ResponseEntity<Map<String, String>> migrateAll() {
-        migrationService.migrateAll();
+    @Operation(summary = "Migrate all data", description = "Submit a job migrating all configured tables and partitions")
+    public ResponseEntity<Map<String, Object>> migrateAll() {
+        return accepted(migrationJobService.submitAll(), "Migration submitted");
+    }
+
+    @PostMapping("/snapshots/export")
+    @Operation(summary = "Export to snapshot files", 
+            description = "Submit a job writing the source rows of one mapping, or of all configured mappings, to snapshot files")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Export submitted"),
+        @ApiResponse(responseCode = "400", description = "Unknown mapping")
+    })
+    public ResponseEntity<Map<String, Object>> exportSnapshots(@RequestParam(required = false) String mapping) {
+        try {
+            return accepted(migrationJobService.submitExport(mapping), "Snapshot export submitted");
+        } catch (IllegalArgumentException e) {
+            return badRequest(e);
+        }
+    }
+
+    @PostMapping("/snapshots/import")
+    @Operation(summary = "Import snapshot files", 
+            description = "Submit a job writing the snapshot files of one mapping, or of all configured mappings, to the target")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Import submitted"),
+        @ApiResponse(responseCode = "400", description = "Unknown mapping")
+    })
+    public ResponseEntity<Map<String, Object>> importSnapshots(@RequestParam(required = false) String mapping) {
+        try {
+            return accepted(migrationJobService.submitImport(mapping), "Snapshot import submitted");
+        } catch (IllegalArgumentException e) {
+            return badRequest(e);
+        }
+    }
+
+    @GetMapping("/jobs")
+    @Operation(summary = "List migration jobs", description = "Status and progress of all submitted jobs")
+    public List<MigrationJob> getJobs() {
+        return migrationJobService.getJobs();
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    @Operation(summary = "Get migration job", description = "Per-table and per-slice progress of one job")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Job found"),
+        @ApiResponse(responseCode = "404", description = "Unknown job id")
+    })
+    public ResponseEntity<MigrationJob> getJob(@PathVariable String jobId) {
+        return ResponseEntity.of(migrationJobService.getJob(jobId));
+    }
+
+    @PostMapping("/jobs/{jobId}/cancel")
+    @Operation(summary = "Cancel migration job", description = "Stop a running job after the batches in flight")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cancellation requested"),
+        @ApiResponse(responseCode = "404", description = "Unknown job id")
+    })
+    public ResponseEntity<MigrationJob> cancelJob(@PathVariable String jobId) {
+        return ResponseEntity.of(migrationJobService.cancel(jobId));
+    }
+
+    @PostMapping("/metadata/invalidate")
+    @Operation(summary = "Invalidate cached metadata", 
+            description = "Drop cached dictionary metadata of one table, or of all tables when none is given, e.g. after DDL")
+    public ResponseEntity<Map<String, String>> invalidateMetadata(@RequestParam(required = false) String table) {
+        if (table != null && !table.isEmpty()) {
+            metadataService.invalidate(table);
+        } else {
+            metadataService.invalidate();
+        }
         
         Map<String, String> response = new HashMap<>();
         response.put("status", "success");
-        response.put("message", "All migrations completed");
+        response.put("message", "Metadata cache invalidated");
         return ResponseEntity.ok(response);
     }
-} 
\ No newline at end of file
+
+    private ResponseEntity<Map<String, Object>> accepted(MigrationJob job, String message) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "accepted");
+        response.put("message", message);
+        response.put("jobId", job.getJobId());
+        return ResponseEntity.accepted().body(response);
+    }
+
+    private ResponseEntity<Map<String, Object>> badRequest(IllegalArgumentException e) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "error");
+        response.put("message", e.getMessage());
+        return ResponseEntity.badRequest().body(response);
+    }
+}
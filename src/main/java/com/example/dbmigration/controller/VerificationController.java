@@ -0,0 +1,77 @@
+package com.example.dbmigration.controller;
+
+import com.example.dbmigration.model.VerificationJob;
+import com.example.dbmigration.service.VerificationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/verification")
+@Tag(name = "Verification API", description = "API for comparing migrated data between source and target")
+public class VerificationController {
+
+    private final VerificationService verificationService;
+
+    public VerificationController(VerificationService verificationService) {
+        this.verificationService = verificationService;
+    }
+
+    @PostMapping
+    @Operation(summary = "Verify migrated data", 
+            description = "Submit a job comparing row counts and hashes per key range of one mapping, or of all configured mappings")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Verification submitted"),
+        @ApiResponse(responseCode = "400", description = "Unknown mapping")
+    })
+    public ResponseEntity<Map<String, Object>> verify(@RequestParam(required = false) String mapping) {
+        Map<String, Object> response = new HashMap<>();
+        VerificationJob job;
+        try {
+            job = verificationService.submit(mapping);
+        } catch (IllegalArgumentException e) {
+            response.put("status", "error");
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+        response.put("status", "accepted");
+        response.put("message", "Verification submitted");
+        response.put("jobId", job.getJobId());
+        return ResponseEntity.accepted().body(response);
+    }
+
+    @GetMapping("/jobs")
+    @Operation(summary = "List verification jobs", description = "Status and results of all submitted verifications")
+    public List<VerificationJob> getJobs() {
+        return verificationService.getJobs();
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    @Operation(summary = "Get verification job", description = "Per-mapping results, listing only the chunks that differ")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Job found"),
+        @ApiResponse(responseCode = "404", description = "Unknown job id")
+    })
+    public ResponseEntity<VerificationJob> getJob(@PathVariable String jobId) {
+        return ResponseEntity.of(verificationService.getJob(jobId));
+    }
+
+    @PostMapping("/jobs/{jobId}/cancel")
+    @Operation(summary = "Cancel verification job", description = "Stop a running verification after the chunks in flight")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cancellation requested"),
+        @ApiResponse(responseCode = "404", description = "Unknown job id")
+    })
+    public ResponseEntity<VerificationJob> cancelJob(@PathVariable String jobId) {
+        return ResponseEntity.of(verificationService.cancel(jobId));
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.dbmigration.model;
+
+import lombok.Data;
+
+import java.sql.Timestamp;
+
+/**
+ * Persisted progress of one slice of a mapping, as stored in the checkpoint table.
+ */
+@Data
+public class Checkpoint {
+
+    public enum Status {
+        IN_PROGRESS, COMPLETED
+    }
+
+    private String mappingName;
+    private String sliceName;
+    private Status status;
+    private String lastKey;
+    private long rowCount;
+    private Timestamp updatedAt;
+
+    public boolean isCompleted() {
+        return status == Status.COMPLETED;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.dbmigration.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * A chunk whose rows differ between source and target, e.g. {@code ID[1..10000]}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChunkDifference {
+    private String range;
+    private long sourceRows;
+    private long targetRows;
+    private BigDecimal sourceHash;
+    private BigDecimal targetHash;
+}
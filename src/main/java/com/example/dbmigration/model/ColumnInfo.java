@@ -0,0 +1,30 @@
+package com.example.dbmigration.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * A column of a source table as read from the data dictionary.
+ */
+@Getter
+@Setter
+public class ColumnInfo {
+    private String name;
+    private String dataType;
+    private int length;
+    private int precision;
+    private int scale;
+
+    /**
+     * Copy of this column under another name, for a source column written to a renamed target column.
+     */
+    public ColumnInfo withName(String newName) {
+        ColumnInfo copy = new ColumnInfo();
+        copy.name = newName;
+        copy.dataType = dataType;
+        copy.length = length;
+        copy.precision = precision;
+        copy.scale = scale;
+        return copy;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.dbmigration.model;
+
+import lombok.Data;
+import jakarta.validation.Valid;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One target column of a mapping with explicit columns: where its value comes from
+ * and how it is transformed on the way.
+ */
+@Data
+public class ColumnMapping {
+    /** Source column; not set for a column filled by a CONSTANT transform. */
+    private String source;
+
+    /** Target column; the source column's name when not set. */
+    private String target;
+
+    @Valid
+    private List<ColumnTransform> transforms = new ArrayList<>();
+}
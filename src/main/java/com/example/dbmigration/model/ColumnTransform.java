@@ -0,0 +1,17 @@
+package com.example.dbmigration.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import jakarta.validation.constraints.NotNull;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ColumnTransform {
+    @NotNull(message = "Transform type is required")
+    private TransformType type;
+
+    /** Target type, constant value, date pattern or salt, depending on the type. */
+    private String argument;
+}
@@ -0,0 +1,14 @@
+package com.example.dbmigration.model;
+
+/**
+ * What happens when the target rejects rows of a batch.
+ */
+public enum ErrorMode {
+    /** The batch, and with it the slice, fails. */
+    FAIL,
+    /**
+     * The batch is split in halves until the rejected rows are isolated; the other rows
+     * are written and the rejected ones go to the failed-records output.
+     */
+    ISOLATE
+}
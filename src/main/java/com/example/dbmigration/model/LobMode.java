@@ -0,0 +1,11 @@
+package com.example.dbmigration.model;
+
+/**
+ * How BLOB and CLOB values are carried from the source row to the target insert.
+ */
+public enum LobMode {
+    /** Materialise each value as a byte[] or String; only suitable for small LOBs. */
+    INLINE,
+    /** Keep the source LOB locator and stream it into the target statement. */
+    STREAM
+}
@@ -0,0 +1,58 @@
+package com.example.dbmigration.model;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A submitted migration run and its live per-table progress.
+ */
+@Getter
+public class MigrationJob {
+    private final String jobId;
+    private final String type;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private volatile ProgressState state = ProgressState.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+    private volatile boolean cancelRequested;
+    private final List<TableProgress> tables = new CopyOnWriteArrayList<>();
+    private final List<MigrationResult> results = new CopyOnWriteArrayList<>();
+
+    public MigrationJob(String type) {
+        this.jobId = UUID.randomUUID().toString();
+        this.type = type;
+    }
+
+    /**
+     * A job for direct, synchronous service calls that nobody polls or cancels.
+     */
+    public static MigrationJob untracked() {
+        return new MigrationJob("direct");
+    }
+
+    public TableProgress addTable(String sourceTable, String targetTable) {
+        TableProgress table = new TableProgress(sourceTable, targetTable, this);
+        tables.add(table);
+        return table;
+    }
+
+    public void start() {
+        startedAt = LocalDateTime.now();
+        state = ProgressState.RUNNING;
+    }
+
+    public void finish(ProgressState state, String error) {
+        this.finishedAt = LocalDateTime.now();
+        this.error = error;
+        this.state = state;
+    }
+
+    public void requestCancel() {
+        cancelRequested = true;
+    }
+}
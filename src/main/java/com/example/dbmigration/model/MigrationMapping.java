@@ -0,0 +1,100 @@
+package com.example.dbmigration.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ * Settings shared by table and partition mappings.
+ */
+@Data
+public abstract class MigrationMapping {
+    @NotBlank(message = "Source table name is required")
+    private String sourceTable;
+    
+    @NotBlank(message = "Target table name is required")
+    private String targetTable;
+    
+    /** Rows per batch; app.migration.batch.size when not set. */
+    @Min(value = 1, message = "Batch size must be at least 1")
+    private Integer batchSize;
+    
+    private String whereClause;
+
+    @Min(value = 1, message = "Concurrency must be at least 1")
+    private int concurrency = 1;
+
+    @Min(value = 1, message = "Queue depth must be at least 1")
+    private int queueDepth = 4;
+
+    @Min(value = 1, message = "Writer count must be at least 1")
+    private int writerCount = 1;
+
+    @NotNull(message = "LOB mode is required")
+    private LobMode lobMode = LobMode.STREAM;
+
+    /** Rows per source round trip; app.migration.read.fetch-size when not set. */
+    @Min(value = 1, message = "Fetch size must be at least 1")
+    private Integer fetchSize;
+
+    /** Bytes of LOB content prefetched with each locator; app.migration.read.lob-prefetch-size when not set. */
+    @Min(value = -1, message = "LOB prefetch size must be -1 or more")
+    private Integer lobPrefetchSize;
+
+    /** Degree for a PARALLEL hint on the source query; app.migration.read.parallel-degree when not set. */
+    @Min(value = 1, message = "Parallel degree must be at least 1")
+    private Integer parallelDegree;
+
+    @NotNull(message = "Error mode is required")
+    private ErrorMode errorMode = ErrorMode.FAIL;
+
+    @NotNull(message = "Write strategy is required")
+    private WriteStrategy writeStrategy = WriteStrategy.CONVENTIONAL;
+
+    /** Batches per target commit; app.migration.commit.batches when not set. DIRECT_PATH always commits every batch. */
+    @Min(value = 1, message = "Commit batches must be at least 1")
+    private Integer commitBatches;
+
+    /** Commit without waiting for the target redo to be written; app.migration.commit.async when not set. */
+    private Boolean asyncCommit;
+
+    /**
+     * Target columns and where their values come from. Source columns not listed are not
+     * read; when not set, every source column is copied to the target column of the same name.
+     */
+    @Valid
+    private List<ColumnMapping> columnMappings;
+
+    /** MERGE and incremental only: columns to match on instead of the target's primary key. */
+    private List<String> keyColumns;
+
+    /** DIRECT_PATH only: switch the target table to NOLOGGING while it is loaded. */
+    private boolean nologging;
+
+    /** DIRECT_PATH only: mark non-unique target indexes UNUSABLE and rebuild them at the end. */
+    private boolean deferIndexes;
+
+    /**
+     * Copy only rows changed since the previous run, by this column or ORA_ROWSCN, and
+     * MERGE them into the target by its primary key.
+     */
+    private String incrementalColumn;
+
+    /**
+     * Continue from the stored checkpoints instead of starting the mapping over. Slices
+     * with an integer key or ROWID range are then read in key order, so that a resume
+     * can continue mid-slice; other mappings are read unordered and each slice is
+     * checkpointed as a whole.
+     */
+    private boolean resume;
+
+    @JsonIgnore
+    public String getMappingName() {
+        return sourceTable + "->" + targetTable;
+    }
+}
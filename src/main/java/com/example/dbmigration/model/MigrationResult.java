@@ -0,0 +1,30 @@
+package com.example.dbmigration.model;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class MigrationResult {
+    private String sourceTable;
+    private String targetTable;
+    private List<SliceResult> slices = new ArrayList<>();
+
+    public MigrationResult(String sourceTable, String targetTable) {
+        this.sourceTable = sourceTable;
+        this.targetTable = targetTable;
+    }
+
+    public long getSucceeded() {
+        return slices.stream().filter(SliceResult::isSuccess).count();
+    }
+
+    public long getFailed() {
+        return slices.stream().filter(p -> !p.isSuccess()).count();
+    }
+
+    public long getRowCount() {
+        return slices.stream().mapToLong(SliceResult::getRowCount).sum();
+    }
+}
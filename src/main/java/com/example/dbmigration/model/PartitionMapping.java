@@ -1,22 +1,14 @@
 package com.example.dbmigration.model;
 
 import lombok.Data;
-import jakarta.validation.constraints.Min;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import jakarta.validation.constraints.NotBlank;
 
 @Data
-public class PartitionMapping {
-    @NotBlank(message = "Source table name is required")
-    private String sourceTable;
-    
-    @NotBlank(message = "Target table name is required")
-    private String targetTable;
-    
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class PartitionMapping extends MigrationMapping {
     @NotBlank(message = "Partition key is required")
     private String partitionKey;
-    
-    @Min(value = 1, message = "Batch size must be at least 1")
-    private int batchSize;
-    
-    private String whereClause;
-} 
\ No newline at end of file
+}
@@ -0,0 +1,24 @@
+package com.example.dbmigration.model;
+
+import lombok.Data;
+
+/**
+ * Usage of one connection pool since startup. Acquire times are how long callers waited
+ * for a connection; usage times are how long they held it.
+ */
+@Data
+public class PoolStats {
+    private String pool;
+    private int maximumPoolSize;
+    private int active;
+    private int idle;
+    private int total;
+    private int threadsAwaitingConnection;
+    /** Virtual-thread workers waiting for a connection permit before asking the pool. */
+    private int workersAwaitingPermit;
+    private long acquireCount;
+    private double acquireMeanMillis;
+    private double acquireMaxMillis;
+    private double usageMeanMillis;
+    private double timeouts;
+}
@@ -0,0 +1,83 @@
+package com.example.dbmigration.model;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live counters for a unit of migration work. Updated by the migration workers and
+ * read concurrently by the status endpoints, so every field is thread-safe.
+ */
+@Getter
+public abstract class Progress {
+    private final String name;
+    private volatile ProgressState state = ProgressState.QUEUED;
+    /** Row estimate from optimizer statistics, or -1 when unknown. */
+    private volatile long estimatedRows = -1;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    @Getter(AccessLevel.NONE)
+    private final LongAdder rowsRead = new LongAdder();
+    @Getter(AccessLevel.NONE)
+    private final LongAdder rowsWritten = new LongAdder();
+    @Getter(AccessLevel.NONE)
+    private volatile long startNanos;
+    @Getter(AccessLevel.NONE)
+    private volatile long endNanos;
+
+    protected Progress(String name) {
+        this.name = name;
+    }
+
+    public void start(long estimatedRows) {
+        this.estimatedRows = estimatedRows;
+        this.startedAt = LocalDateTime.now();
+        this.startNanos = System.nanoTime();
+        this.state = ProgressState.RUNNING;
+    }
+
+    public void finish(ProgressState state) {
+        this.endNanos = System.nanoTime();
+        this.finishedAt = LocalDateTime.now();
+        this.state = state;
+    }
+
+    public void addRead(long rows) {
+        rowsRead.add(rows);
+    }
+
+    public void addWritten(long rows) {
+        rowsWritten.add(rows);
+    }
+
+    public long getRowsRead() {
+        return rowsRead.sum();
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten.sum();
+    }
+
+    public double getRowsPerSecond() {
+        if (startNanos == 0) {
+            return 0;
+        }
+        long end = endNanos != 0 ? endNanos : System.nanoTime();
+        double seconds = (end - startNanos) / 1_000_000_000.0;
+        return seconds > 0 ? rowsWritten.sum() / seconds : 0;
+    }
+
+    /**
+     * Seconds until the estimated row count is written at the current rate, or null
+     * when there is no estimate or the work is not running.
+     */
+    public Long getEtaSeconds() {
+        double rate = getRowsPerSecond();
+        if (state != ProgressState.RUNNING || estimatedRows < 0 || rate <= 0) {
+            return null;
+        }
+        return (long) Math.ceil(Math.max(estimatedRows - rowsWritten.sum(), 0) / rate);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.dbmigration.model;
+
+public enum ProgressState {
+    QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED;
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED || this == CANCELLED;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.dbmigration.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Progress of one partition, key range or whole-table copy. Counts roll up into the owning table.
+ */
+public class SliceProgress extends Progress {
+    private final TableProgress table;
+
+    SliceProgress(String name, TableProgress table) {
+        super(name);
+        this.table = table;
+    }
+
+    @Override
+    public void addRead(long rows) {
+        super.addRead(rows);
+        table.addRead(rows);
+    }
+
+    @Override
+    public void addWritten(long rows) {
+        super.addWritten(rows);
+        table.addWritten(rows);
+    }
+
+    /**
+     * Forgets the rows of an attempt that was rolled back, so that a retry does not count them twice.
+     */
+    public void discard() {
+        long read = getRowsRead();
+        long written = getRowsWritten();
+        super.addRead(-read);
+        super.addWritten(-written);
+        table.addRead(-read);
+        table.addWritten(-written);
+    }
+
+    @JsonIgnore
+    public boolean isCancelled() {
+        return table.isCancelled();
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.dbmigration.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one independently migrated piece of a mapping: a partition, a key range or a whole table.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SliceResult {
+    private String name;
+    private boolean success;
+    private long rowCount;
+    private long elapsedMillis;
+    private String errorMessage;
+
+    public static SliceResult success(String name, long rowCount, long elapsedMillis) {
+        return new SliceResult(name, true, rowCount, elapsedMillis, null);
+    }
+
+    public static SliceResult failure(String name, long elapsedMillis, String errorMessage) {
+        return new SliceResult(name, false, 0, elapsedMillis, errorMessage);
+    }
+}
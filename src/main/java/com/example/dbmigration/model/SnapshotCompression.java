@@ -0,0 +1,11 @@
+package com.example.dbmigration.model;
+
+/**
+ * How the column blocks of a snapshot file are compressed.
+ */
+public enum SnapshotCompression {
+    /** Blocks are stored as encoded; fastest to write and to map back in. */
+    NONE,
+    /** Each block is deflated on its own, so blocks can still be read one at a time. */
+    DEFLATE
+}
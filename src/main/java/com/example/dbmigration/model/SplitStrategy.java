@@ -0,0 +1,13 @@
+package com.example.dbmigration.model;
+
+/**
+ * How a non-partitioned table is divided into ranges that can be migrated and retried independently.
+ */
+public enum SplitStrategy {
+    /** Single cursor over the whole table. */
+    NONE,
+    /** Ranges of roughly equal row count over the source ROWIDs. */
+    ROWID,
+    /** Equal-width MIN/MAX ranges over a numeric primary key (or the configured split column). */
+    PRIMARY_KEY
+}
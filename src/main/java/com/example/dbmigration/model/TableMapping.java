@@ -1,19 +1,20 @@
 package com.example.dbmigration.model;
 
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import jakarta.validation.constraints.Min;
-import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 
 @Data
-public class TableMapping {
-    @NotBlank(message = "Source table name is required")
-    private String sourceTable;
-    
-    @NotBlank(message = "Target table name is required")
-    private String targetTable;
-    
-    @Min(value = 1, message = "Batch size must be at least 1")
-    private int batchSize;
-    
-    private String whereClause;
-} 
\ No newline at end of file
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class TableMapping extends MigrationMapping {
+    @NotNull(message = "Split strategy is required")
+    private SplitStrategy splitStrategy = SplitStrategy.NONE;
+
+    private String splitColumn;
+
+    @Min(value = 1, message = "Chunk count must be at least 1")
+    private int chunkCount = 16;
+}
@@ -0,0 +1,40 @@
+package com.example.dbmigration.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@Getter
+public class TableProgress extends Progress {
+    private final String sourceTable;
+    private final String targetTable;
+    private final List<SliceProgress> slices = new CopyOnWriteArrayList<>();
+    @JsonIgnore
+    private final Map<String, SliceProgress> slicesByName = new ConcurrentHashMap<>();
+    @JsonIgnore
+    private final MigrationJob job;
+
+    TableProgress(String sourceTable, String targetTable, MigrationJob job) {
+        super(sourceTable + "->" + targetTable);
+        this.sourceTable = sourceTable;
+        this.targetTable = targetTable;
+        this.job = job;
+    }
+
+    public SliceProgress slice(String name) {
+        return slicesByName.computeIfAbsent(name, n -> {
+            SliceProgress slice = new SliceProgress(n, this);
+            slices.add(slice);
+            return slice;
+        });
+    }
+
+    @JsonIgnore
+    public boolean isCancelled() {
+        return job.isCancelRequested();
+    }
+}
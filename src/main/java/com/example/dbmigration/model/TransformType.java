@@ -0,0 +1,24 @@
+package com.example.dbmigration.model;
+
+/**
+ * A step applied to a column value between reading it from the source and binding it
+ * to the target. Steps run in the order given, each on the result of the previous one.
+ */
+public enum TransformType {
+    /** Converts to the type in the argument: VARCHAR2, NUMBER, DATE or TIMESTAMP. */
+    CAST,
+    /** Replaces the value with the argument, as a string; null when there is no argument. */
+    CONSTANT,
+    /** Strips leading and trailing whitespace from a character value. */
+    TRIM,
+    /**
+     * Formats a date or timestamp with the java.time pattern in the argument, or parses
+     * a character value with it.
+     */
+    DATE_FORMAT,
+    /**
+     * Replaces the value with the hex SHA-256 of the salt in the argument followed by the
+     * value. Equal values still mask to equal strings, so masked keys stay joinable.
+     */
+    HASH_MASK
+}
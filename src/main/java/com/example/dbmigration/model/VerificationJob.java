@@ -0,0 +1,38 @@
+package com.example.dbmigration.model;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A submitted verification run and the results of the mappings checked so far.
+ */
+@Getter
+public class VerificationJob {
+    private final String jobId = UUID.randomUUID().toString();
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private volatile ProgressState state = ProgressState.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+    private volatile boolean cancelRequested;
+    private final List<VerificationResult> results = new CopyOnWriteArrayList<>();
+
+    public void start() {
+        startedAt = LocalDateTime.now();
+        state = ProgressState.RUNNING;
+    }
+
+    public void finish(ProgressState state, String error) {
+        this.finishedAt = LocalDateTime.now();
+        this.error = error;
+        this.state = state;
+    }
+
+    public void requestCancel() {
+        cancelRequested = true;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.dbmigration.model;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Comparison of one mapping's source and target rows, chunk by chunk. Only the
+ * chunks whose row count or hash differ are listed.
+ */
+@Data
+public class VerificationResult {
+    private String sourceTable;
+    private String targetTable;
+    /** Integer column the chunks are key ranges of, or null when the table is one chunk. */
+    private String keyColumn;
+    private int chunkCount;
+    private int matchedChunks;
+    private long sourceRows;
+    private long targetRows;
+    /** Columns left out of the hash because their type cannot be hashed in SQL. */
+    private List<String> skippedColumns = new ArrayList<>();
+    private List<ChunkDifference> differences = new ArrayList<>();
+    private long elapsedMillis;
+    private String errorMessage;
+
+    public VerificationResult(String sourceTable, String targetTable) {
+        this.sourceTable = sourceTable;
+        this.targetTable = targetTable;
+    }
+
+    public boolean isMatched() {
+        return errorMessage == null && matchedChunks == chunkCount && differences.isEmpty();
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.dbmigration.model;
+
+/**
+ * How batches are written to the target table.
+ */
+public enum WriteStrategy {
+    /** Conventional-path array inserts; safe alongside other sessions writing the table. */
+    CONVENTIONAL,
+    /**
+     * Direct-path array inserts with the APPEND_VALUES hint, above the high-water mark. Each batch
+     * commits on its own and holds an exclusive table lock while it is written, so this
+     * is meant for initial loads into tables nothing else is using.
+     */
+    DIRECT_PATH,
+    /**
+     * Array-bound MERGE on the target's primary key (or the mapping's keyColumns), so
+     * rows already copied by an earlier or interrupted run are updated instead of
+     * duplicated and any slice can simply be run again.
+     */
+    MERGE
+}
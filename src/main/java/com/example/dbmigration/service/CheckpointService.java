@@ -0,0 +1,23 @@
+package com.example.dbmigration.service;
+
+import com.example.dbmigration.model.Checkpoint;
+
+import java.util.Map;
+
+public interface CheckpointService {
+    boolean isEnabled();
+
+    /**
+     * Prepares checkpointing for a mapping run. When resuming, returns the stored
+     * checkpoints keyed by slice name; otherwise discards them and returns an empty map.
+     */
+    Map<String, Checkpoint> begin(String mappingName, boolean resume);
+
+    /**
+     * Records the batches of one commit. Runs on the target connection, so when called inside
+     * a target transaction it commits or rolls back together with the batches.
+     */
+    void recordBatch(String mappingName, String sliceName, String lastKey, long rows);
+
+    void markCompleted(String mappingName, String sliceName);
+}
@@ -1,6 +1,15 @@
 package com.example.dbmigration.service;
 
+import com.example.dbmigration.model.PoolStats;
+
+import java.util.List;
+
 public interface DatabaseConnectionService {
     boolean testSourceConnection();
     boolean testTargetConnection();
-} 
\ No newline at end of file
+
+    /**
+     * Current usage and connection wait times of the source and target pools.
+     */
+    List<PoolStats> getPoolStats();
+}
\ No newline at end of file
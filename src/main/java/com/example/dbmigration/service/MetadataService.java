@@ -0,0 +1,57 @@
+package com.example.dbmigration.service;
+
+import com.example.dbmigration.model.ColumnInfo;
+import com.example.dbmigration.model.MigrationMapping;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data dictionary information of the source and target tables, loaded in bulk when
+ * a job starts and cached until invalidated. Invalidate after DDL on a table that a
+ * running or repeated migration depends on.
+ */
+public interface MetadataService {
+
+    /**
+     * Reloads the source and target tables of the mappings, so a job starts from the
+     * dictionary as it is now rather than as it was at an earlier run.
+     */
+    void load(Collection<? extends MigrationMapping> mappings);
+
+    /** Source columns in column order; empty when the table does not exist. */
+    List<ColumnInfo> getColumns(String tableName);
+
+    /**
+     * Row count from optimizer statistics, or -1 when the table has not been analyzed.
+     */
+    long getEstimatedRows(String tableName);
+
+    /**
+     * Approximate size in bytes from optimizer statistics; 0 when not analyzed.
+     */
+    long getEstimatedBytes(String tableName);
+
+    /** Partition names of the source table in partition order. */
+    List<String> getPartitions(String tableName);
+
+    /** Analyzed row counts of the source table's partitions; others are left out. */
+    Map<String, Long> getPartitionRows(String tableName);
+
+    List<String> getPartitionKeyColumns(String tableName);
+
+    List<String> getPrimaryKey(String sourceTable);
+
+    List<String> getTargetPrimaryKey(String targetTable);
+
+    /** Target tables that the target table references by foreign key. */
+    List<String> getReferencedTables(String targetTable);
+
+    void invalidate();
+
+    /**
+     * Drops the cached information of one table on both the source and the target side.
+     */
+    void invalidate(String tableName);
+}
@@ -0,0 +1,36 @@
+package com.example.dbmigration.service;
+
+import com.example.dbmigration.model.MigrationJob;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface MigrationJobService {
+    MigrationJob submitTables();
+    MigrationJob submitPartitions();
+    MigrationJob submitAll();
+
+    /**
+     * Submits a job exporting the configured mapping with this name, or all configured
+     * mappings when the name is null, to snapshot files.
+     *
+     * @throws IllegalArgumentException if no configured mapping has the name
+     */
+    MigrationJob submitExport(String mappingName);
+
+    /**
+     * Submits a job importing the snapshot files of the configured mapping with this
+     * name, or of all configured mappings when the name is null.
+     *
+     * @throws IllegalArgumentException if no configured mapping has the name
+     */
+    MigrationJob submitImport(String mappingName);
+    Optional<MigrationJob> getJob(String jobId);
+    List<MigrationJob> getJobs();
+
+    /**
+     * Asks the job's workers to stop after their current batch. Uncommitted work of
+     * transactional slices is rolled back; slices not yet started are skipped.
+     */
+    Optional<MigrationJob> cancel(String jobId);
+}
@@ -1,12 +1,48 @@
 package com.example.dbmigration.service;
 
+import com.example.dbmigration.model.MigrationJob;
+import com.example.dbmigration.model.MigrationMapping;
+import com.example.dbmigration.model.MigrationResult;
 import com.example.dbmigration.model.PartitionMapping;
 import com.example.dbmigration.model.TableMapping;
 
+import java.util.List;
+
 public interface MigrationService {
-    void migrateTable(TableMapping mapping);
-    void migratePartition(PartitionMapping mapping);
-    void migrateAllTables();
-    void migrateAllPartitions();
-    void migrateAll();
-} 
\ No newline at end of file
+    MigrationResult migrateTable(TableMapping mapping, MigrationJob job);
+    MigrationResult migratePartition(PartitionMapping mapping, MigrationJob job);
+    List<MigrationResult> migrateAllTables(MigrationJob job);
+    List<MigrationResult> migrateAllPartitions(MigrationJob job);
+    List<MigrationResult> migrateAll(MigrationJob job);
+
+    /**
+     * Writes the mapping's source rows to a snapshot file in
+     * {@code app.migration.snapshot.directory}, for transfer to a target the source cannot reach.
+     */
+    MigrationResult exportSnapshot(MigrationMapping mapping, MigrationJob job);
+
+    /**
+     * Writes the rows of the mapping's snapshot file to its target table.
+     */
+    MigrationResult importSnapshot(MigrationMapping mapping, MigrationJob job);
+
+    default MigrationResult migrateTable(TableMapping mapping) {
+        return migrateTable(mapping, MigrationJob.untracked());
+    }
+
+    default MigrationResult migratePartition(PartitionMapping mapping) {
+        return migratePartition(mapping, MigrationJob.untracked());
+    }
+
+    default List<MigrationResult> migrateAllTables() {
+        return migrateAllTables(MigrationJob.untracked());
+    }
+
+    default List<MigrationResult> migrateAllPartitions() {
+        return migrateAllPartitions(MigrationJob.untracked());
+    }
+
+    default List<MigrationResult> migrateAll() {
+        return migrateAll(MigrationJob.untracked());
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.dbmigration.service;
+
+import com.example.dbmigration.model.VerificationJob;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Compares migrated data between source and target without reading rows into the
+ * application: each side returns a row count and an order-independent hash per chunk.
+ */
+public interface VerificationService {
+
+    /**
+     * Submits a job verifying the configured mapping with this name, or all configured
+     * mappings when the name is null.
+     *
+     * @throws IllegalArgumentException if no configured mapping has the name
+     */
+    VerificationJob submit(String mappingName);
+
+    Optional<VerificationJob> getJob(String jobId);
+
+    List<VerificationJob> getJobs();
+
+    /**
+     * Stops the job once the chunks being compared are done.
+     */
+    Optional<VerificationJob> cancel(String jobId);
+}
@@ -0,0 +1,16 @@
+package com.example.dbmigration.service;
+
+/**
+ * Stores the high-water mark of each incrementally migrated mapping. Unlike
+ * checkpoints, which track one run, the mark carries over from run to run.
+ */
+public interface WatermarkService {
+
+    /**
+     * Returns the mark stored by the last successful run, or null before the first one
+     * and when that run tracked another column, whose mark cannot be compared.
+     */
+    String getWatermark(String mappingName, String column);
+
+    void saveWatermark(String mappingName, String column, String value);
+}
@@ -0,0 +1,247 @@
+package com.example.dbmigration.service.impl;
+
+import com.example.dbmigration.config.WorkerExecutors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Decouples the source read loop from the target writes. The reader hands full
+ * batches to {@link #submit}, which blocks while the bounded queue is full, and
+ * one or more writer threads drain the queue concurrently.
+ *
+ * <p>Batches are pooled: the reader takes an empty batch from {@link #acquire} and
+ * the writers hand every batch back once it is written or discarded, so no more
+ * than {@code queueDepth + writerCount + 1} batches are ever allocated.
+ *
+ * <p>Each writer adds its batches to a {@link CommitGroup} of its own, which commits
+ * every few batches. A writer that failed rolls back its open group; the others
+ * commit what they have written, which their checkpoints then cover.
+ *
+ * <p>When a {@link TransactionTemplate} is given, the pipeline has a single writer,
+ * which instead runs its whole drain inside one target transaction and commits only
+ * if neither the reader nor the writer failed, so the slice can be retried from
+ * scratch. Several writers would each commit a transaction of their own, and one
+ * could fail to commit after another has.
+ *
+ * <p>No writer waits for another while it holds its target session. On virtual
+ * threads a session is a connection permit, and writers of concurrent pipelines
+ * that each held some permits while waiting for siblings without one would never
+ * finish.
+ */
+@Slf4j
+class BatchPipeline<B> implements AutoCloseable {
+
+    @FunctionalInterface
+    interface BatchWriter<B> {
+        /**
+         * Writes the batch in the group's open transaction; the writer begins it and
+         * adds the batch to it once written.
+         */
+        void write(B batch, CommitGroup commits) throws Exception;
+    }
+
+    private static final Object END = new Object();
+
+    private final BlockingQueue<Object> queue;
+    private final BlockingQueue<B> free;
+    private final Supplier<B> batchFactory;
+    private final int maxBatches;
+    private int allocated;
+    private final BatchWriter<B> writer;
+    private final Supplier<CommitGroup> commitGroups;
+    private final TransactionTemplate transactionTemplate;
+    private final WorkerExecutors executors;
+    private final int writerCount;
+    private final ExecutorService executor;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private boolean closed;
+
+    BatchPipeline(String name, int queueDepth, int writerCount, Supplier<B> batchFactory,
+            BatchWriter<B> writer, Supplier<CommitGroup> commitGroups, TransactionTemplate transactionTemplate,
+            WorkerExecutors executors) {
+        if (transactionTemplate != null && writerCount != 1) {
+            throw new IllegalArgumentException("A pipeline writing in one transaction needs a single writer, not " + writerCount);
+        }
+        this.queue = new ArrayBlockingQueue<>(queueDepth);
+        this.maxBatches = queueDepth + writerCount + 1;
+        this.free = new ArrayBlockingQueue<>(maxBatches);
+        this.batchFactory = batchFactory;
+        this.writer = writer;
+        this.commitGroups = commitGroups;
+        this.transactionTemplate = transactionTemplate;
+        this.executors = executors;
+        this.writerCount = writerCount;
+        this.executor = executors.newExecutor(name + "-writer-", writerCount);
+        for (int i = 0; i < writerCount; i++) {
+            executor.execute(this::runWriter);
+        }
+    }
+
+    /**
+     * Returns a batch for the reader to fill, reusing one the writers have released
+     * when possible. Recycled batches are returned as the writer left them; the
+     * caller is expected to reset them.
+     */
+    B acquire() throws InterruptedException {
+        B batch = free.poll();
+        if (batch != null) {
+            return batch;
+        }
+        if (allocated < maxBatches) {
+            allocated++;
+            return batchFactory.get();
+        }
+        return free.take();
+    }
+
+    /**
+     * Queues a batch for writing, waiting for space if the writers are behind.
+     * Fails fast once a writer has failed so the reader stops pulling rows.
+     */
+    void submit(B batch) throws InterruptedException {
+        throwIfFailed();
+        queue.put(batch);
+    }
+
+    /**
+     * Marks the pipeline as failed on the reader side; writers discard what is
+     * left in the queue and roll back when transactional.
+     */
+    void fail(Throwable cause) {
+        failure.compareAndSet(null, cause);
+    }
+
+    /**
+     * Waits for the writers to drain the queue and rethrows the first writer failure.
+     */
+    void finish() throws InterruptedException {
+        close();
+        throwIfFailed();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            for (int i = 0; i < writerCount; i++) {
+                queue.put(END);
+            }
+            executor.shutdown();
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.debug("Waiting for batch writers to finish");
+            }
+        } catch (InterruptedException e) {
+            fail(e);
+            executor.shutdownNow();
+            throw e;
+        }
+    }
+
+    private void throwIfFailed() {
+        Throwable t = failure.get();
+        if (t instanceof RuntimeException re) {
+            throw re;
+        }
+        if (t != null) {
+            throw new RuntimeException("Batch write failed", t);
+        }
+    }
+
+    private void runWriter() {
+        try {
+            executors.withTargetConnection(() -> {
+                write();
+                return null;
+            });
+        } catch (Exception e) {
+            // Interrupted while waiting for a connection permit; keep consuming so the reader is not blocked
+            fail(e);
+            drain(null);
+        }
+    }
+
+    private void write() {
+        CommitGroup commits = commitGroups.get();
+        if (transactionTemplate == null) {
+            drain(commits);
+            return;
+        }
+        AtomicBoolean started = new AtomicBoolean();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                started.set(true);
+                drain(commits);
+                // The reader records its failure before it queues the end marker
+                if (failure.get() != null) {
+                    status.setRollbackOnly();
+                }
+            });
+        } catch (Throwable t) {
+            fail(t);
+            if (!started.get()) {
+                // The transaction never began; keep consuming so the reader is not blocked
+                drain(null);
+            }
+        }
+    }
+
+    /**
+     * Writes queued batches until the end marker, then commits the writer's open group,
+     * or rolls it back if one of its own writes failed. Without a group, which is only
+     * the case once the pipeline has failed, batches are discarded.
+     */
+    @SuppressWarnings("unchecked")
+    private void drain(CommitGroup commits) {
+        boolean writeFailed = false;
+        try {
+            while (true) {
+                Object item = queue.take();
+                if (item == END) {
+                    break;
+                }
+                B batch = (B) item;
+                if (failure.get() == null && commits != null) {
+                    try {
+                        writer.write(batch, commits);
+                    } catch (Throwable t) {
+                        fail(t);
+                        writeFailed = true;
+                    }
+                }
+                free.offer(batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(e);
+            writeFailed = true;
+        } finally {
+            complete(commits, writeFailed);
+        }
+    }
+
+    private void complete(CommitGroup commits, boolean writeFailed) {
+        if (commits == null) {
+            return;
+        }
+        try {
+            if (writeFailed) {
+                commits.rollback();
+            } else {
+                commits.commit();
+            }
+        } catch (Throwable t) {
+            fail(t);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.dbmigration.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chooses the number of rows per batch for one table. In fixed mode it always
+ * returns the configured size. In adaptive mode it hill-climbs on measured write
+ * throughput: every few full batches it compares rows/sec with the previous size,
+ * keeps moving in the same direction while throughput improves and reverses with a
+ * smaller step when it drops, until the step is too small to matter.
+ *
+ * <p>A batch whose write takes longer than the latency limit halves the size at
+ * once, which is how growing undo/redo and log sync pressure on the target shows up.
+ * The climb then starts over from the halved size, so a single slow write, such as
+ * one during a log switch, does not keep the size down for the rest of the run.
+ * All slices of the table report into the same controller.
+ */
+@Slf4j
+class BatchSizeController {
+
+    private static final int SAMPLES_PER_STEP = 3;
+    private static final double INITIAL_STEP = 2.0;
+    private static final double MIN_STEP = 1.1;
+
+    private final String name;
+    private final boolean adaptive;
+    private final int minSize;
+    private final int maxSize;
+    private final long maxLatencyNanos;
+
+    private volatile int size;
+    private double step = INITIAL_STEP;
+    private int direction = 1;
+    private double lastThroughput = -1;
+    private long sampleRows;
+    private long sampleNanos;
+    private int samples;
+    private boolean settled;
+
+    private BatchSizeController(String name, boolean adaptive, int initialSize, int minSize, int maxSize, long maxLatencyMs) {
+        this.name = name;
+        this.adaptive = adaptive;
+        this.minSize = Math.max(Math.min(minSize, maxSize), 1);
+        this.maxSize = Math.max(maxSize, 1);
+        this.maxLatencyNanos = TimeUnit.MILLISECONDS.toNanos(maxLatencyMs);
+        this.size = clamp(initialSize);
+    }
+
+    static BatchSizeController fixed(String name, int size) {
+        return new BatchSizeController(name, false, size, size, size, Long.MAX_VALUE / 1_000_000);
+    }
+
+    static BatchSizeController adaptive(String name, int initialSize, int minSize, int maxSize, long maxLatencyMs) {
+        return new BatchSizeController(name, true, initialSize, minSize, maxSize, maxLatencyMs);
+    }
+
+    /** Size of the next batch to fill. */
+    int getSize() {
+        return size;
+    }
+
+    /** Largest size this controller will ever return; batches are allocated for it. */
+    int getMaxSize() {
+        return maxSize;
+    }
+
+    boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /**
+     * Reports the time taken to write one batch. Partial batches and batches filled
+     * before the last change of size are ignored.
+     */
+    synchronized void record(int rows, long nanos) {
+        if (!adaptive || rows != size) {
+            return;
+        }
+        if (nanos > maxLatencyNanos && size > minSize) {
+            resize(Math.max(size / 2, minSize), "write latency " + TimeUnit.NANOSECONDS.toMillis(nanos) + " ms");
+            // Climb again from the new size, even after having settled
+            step = INITIAL_STEP;
+            direction = -1;
+            lastThroughput = -1;
+            settled = false;
+            return;
+        }
+        if (settled) {
+            return;
+        }
+        sampleRows += rows;
+        sampleNanos += nanos;
+        if (++samples < SAMPLES_PER_STEP) {
+            return;
+        }
+        double throughput = sampleNanos > 0 ? sampleRows * 1_000_000_000.0 / sampleNanos : 0;
+        if (lastThroughput >= 0 && throughput < lastThroughput) {
+            direction = -direction;
+            step = Math.sqrt(step);
+        }
+        lastThroughput = throughput;
+        if (step < MIN_STEP) {
+            settled = true;
+            resetSamples();
+            log.debug("Batch size for {} settled at {} rows ({} rows/s)", name, size, Math.round(throughput));
+            return;
+        }
+        int next = clamp((int) Math.round(direction > 0 ? size * step : size / step));
+        resize(next, Math.round(throughput) + " rows/s");
+    }
+
+    private void resize(int next, String reason) {
+        resetSamples();
+        if (next != size) {
+            log.debug("Batch size for {}: {} -> {} ({})", name, size, next, reason);
+            size = next;
+        }
+    }
+
+    private void resetSamples() {
+        sampleRows = 0;
+        sampleNanos = 0;
+        samples = 0;
+    }
+
+    private int clamp(int value) {
+        return Math.max(minSize, Math.min(maxSize, value));
+    }
+}
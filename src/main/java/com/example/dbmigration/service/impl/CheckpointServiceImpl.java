@@ -0,0 +1,111 @@
+package com.example.dbmigration.service.impl;
+
+import com.example.dbmigration.config.MigrationProperties;
+import com.example.dbmigration.model.Checkpoint;
+import com.example.dbmigration.service.CheckpointService;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+@Slf4j
+@Service
+public class CheckpointServiceImpl implements CheckpointService {
+
+    private final JdbcTemplate targetJdbcTemplate;
+    private final boolean enabled;
+    private final String tableName;
+
+    public CheckpointServiceImpl(
+            @Qualifier("targetJdbcTemplate") JdbcTemplate targetJdbcTemplate,
+            MigrationProperties properties) {
+        this.targetJdbcTemplate = targetJdbcTemplate;
+        this.enabled = properties.getCheckpoint().isEnabled();
+        this.tableName = properties.getCheckpoint().getTableName();
+    }
+
+    @PostConstruct
+    void createCheckpointTable() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Integer existing = targetJdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM user_tables WHERE table_name = ?", Integer.class, tableName.toUpperCase());
+            if (existing != null && existing > 0) {
+                return;
+            }
+            targetJdbcTemplate.execute("CREATE TABLE " + tableName + " (" +
+                "mapping_name VARCHAR2(512) NOT NULL, " +
+                "slice_name VARCHAR2(512) NOT NULL, " +
+                "status VARCHAR2(20) NOT NULL, " +
+                "last_key VARCHAR2(4000), " +
+                "row_count NUMBER(19) DEFAULT 0 NOT NULL, " +
+                "updated_at TIMESTAMP NOT NULL, " +
+                "CONSTRAINT " + tableName + "_PK PRIMARY KEY (mapping_name, slice_name))");
+            log.info("Created checkpoint table: {}", tableName);
+        } catch (Exception e) {
+            // The target may be unreachable at startup; checkpoint writes will report the problem
+            log.warn("Unable to verify checkpoint table {}: {}", tableName, e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public Map<String, Checkpoint> begin(String mappingName, boolean resume) {
+        if (!enabled) {
+            return Collections.emptyMap();
+        }
+        if (!resume) {
+            targetJdbcTemplate.update("DELETE FROM " + tableName + " WHERE mapping_name = ?", mappingName);
+            return Collections.emptyMap();
+        }
+        
+        Map<String, Checkpoint> checkpoints = new HashMap<>();
+        String sql = "SELECT mapping_name, slice_name, status, last_key, row_count, updated_at " +
+                    "FROM " + tableName + " WHERE mapping_name = ?";
+        targetJdbcTemplate.query(sql, rs -> {
+            Checkpoint checkpoint = new Checkpoint();
+            checkpoint.setMappingName(rs.getString("mapping_name"));
+            checkpoint.setSliceName(rs.getString("slice_name"));
+            checkpoint.setStatus(Checkpoint.Status.valueOf(rs.getString("status")));
+            checkpoint.setLastKey(rs.getString("last_key"));
+            checkpoint.setRowCount(rs.getLong("row_count"));
+            checkpoint.setUpdatedAt(rs.getTimestamp("updated_at"));
+            checkpoints.put(checkpoint.getSliceName(), checkpoint);
+        }, mappingName);
+        log.info("Resuming {} from {} checkpoints", mappingName, checkpoints.size());
+        return checkpoints;
+    }
+
+    @Override
+    public void recordBatch(String mappingName, String sliceName, String lastKey, long rows) {
+        merge(mappingName, sliceName, Checkpoint.Status.IN_PROGRESS, lastKey, rows);
+    }
+
+    @Override
+    public void markCompleted(String mappingName, String sliceName) {
+        merge(mappingName, sliceName, Checkpoint.Status.COMPLETED, null, 0);
+    }
+
+    private void merge(String mappingName, String sliceName, Checkpoint.Status status, String lastKey, long rows) {
+        String sql = "MERGE INTO " + tableName + " c " +
+                    "USING (SELECT ? mapping_name, ? slice_name FROM dual) s " +
+                    "ON (c.mapping_name = s.mapping_name AND c.slice_name = s.slice_name) " +
+                    "WHEN MATCHED THEN UPDATE SET c.status = ?, c.last_key = NVL(?, c.last_key), " +
+                    "c.row_count = c.row_count + ?, c.updated_at = SYSTIMESTAMP " +
+                    "WHEN NOT MATCHED THEN INSERT (mapping_name, slice_name, status, last_key, row_count, updated_at) " +
+                    "VALUES (s.mapping_name, s.slice_name, ?, ?, ?, SYSTIMESTAMP)";
+        targetJdbcTemplate.update(sql, mappingName, sliceName, status.name(), lastKey, rows,
+            status.name(), lastKey, rows);
+    }
+}
@@ -0,0 +1,397 @@
+package com.example.dbmigration.service.impl;
+
+import com.example.dbmigration.model.ColumnInfo;
+import com.example.dbmigration.model.LobMode;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Reads one source column into a {@link RowBatch} and binds it back onto the
+ * target statement. Accessors are compiled once per table from the column
+ * metadata, so the row loop makes a single call per cell by column index
+ * instead of switching on the data type and resolving the column by name.
+ */
+@Slf4j
+abstract class ColumnAccessor {
+
+    /** Position in the {@link RowBatch}. */
+    protected final int column;
+    /** 1-based position in the insert parameter list. */
+    protected final int index;
+    /** 1-based position in the select list, or 0 for a column not read from the source. */
+    protected final int readIndex;
+    private final ColumnInfo info;
+    private final int sqlType;
+
+    protected ColumnAccessor(int column, int readIndex, ColumnInfo info, int sqlType) {
+        this.column = column;
+        this.index = column + 1;
+        this.readIndex = readIndex;
+        this.info = info;
+        this.sqlType = sqlType;
+    }
+
+    static ColumnAccessor[] compile(List<ColumnInfo> columns, LobMode lobMode) {
+        ColumnAccessor[] accessors = new ColumnAccessor[columns.size()];
+        for (int c = 0; c < accessors.length; c++) {
+            accessors[c] = forColumn(c, c + 1, columns.get(c), lobMode);
+        }
+        return accessors;
+    }
+
+    static ColumnAccessor forColumn(int c, int readIndex, ColumnInfo info, LobMode lobMode) {
+        switch (RowBatch.Kind.of(info)) {
+            case LONG:
+                return new LongAccessor(c, readIndex, info);
+            case DOUBLE:
+                return new DoubleAccessor(c, readIndex, info);
+            default:
+                break;
+        }
+        switch (info.getDataType()) {
+            case "NUMBER":
+                return new DecimalAccessor(c, readIndex, info);
+            case "VARCHAR2":
+                return new StringAccessor(c, readIndex, info, Types.VARCHAR);
+            case "TIMESTAMP(6)":
+                return new TimestampAccessor(c, readIndex, info);
+            case "DATE":
+                return new DateAccessor(c, readIndex, info);
+            case "BLOB":
+                return lobMode == LobMode.STREAM ? new BlobStreamAccessor(c, readIndex, info) : new BlobAccessor(c, readIndex, info);
+            case "CLOB":
+                return lobMode == LobMode.STREAM ? new ClobStreamAccessor(c, readIndex, info) : new ClobAccessor(c, readIndex, info);
+            default:
+                return new ObjectAccessor(c, readIndex, info);
+        }
+    }
+
+    ColumnInfo getInfo() {
+        return info;
+    }
+
+    int getSqlType() {
+        return sqlType;
+    }
+
+    /** How the batch holds this column's values. */
+    RowBatch.Kind getKind() {
+        return RowBatch.Kind.of(info);
+    }
+
+    abstract void read(ResultSet rs, RowBatch batch, int row) throws SQLException;
+
+    void bind(PreparedStatement ps, RowBatch batch, int row) throws SQLException {
+        if (batch.isNull(column, row)) {
+            ps.setNull(index, sqlType);
+        } else {
+            bindValue(ps, batch, row);
+        }
+    }
+
+    protected abstract void bindValue(PreparedStatement ps, RowBatch batch, int row) throws SQLException;
+
+    /**
+     * Whether the batch holds a source-side resource for this column that must be
+     * released once the batch has been written.
+     */
+    boolean holdsLocator() {
+        return false;
+    }
+
+    void release(RowBatch batch, int row) {
+    }
+
+    static final class LongAccessor extends ColumnAccessor {
+        LongAccessor(int column, int readIndex, ColumnInfo info) {
+            super(column, readIndex, info, Types.NUMERIC);
+        }
+
+        @Override
+        void read(ResultSet rs, RowBatch batch, int row) throws SQLException {
+            long value = rs.getLong(readIndex);
+            if (rs.wasNull()) {
+                batch.setNull(column, row);
+            } else {
+                batch.setLong(column, row, value);
+            }
+        }
+
+        @Override
+        protected void bindValue(PreparedStatement ps, RowBatch batch, int row) throws SQLException {
+            ps.setLong(index, batch.getLong(column, row));
+        }
+    }
+
+    static final class DoubleAccessor extends ColumnAccessor {
+        DoubleAccessor(int column, int readIndex, ColumnInfo info) {
+            super(column, readIndex, info, Types.DOUBLE);
+        }
+
+        @Override
+        void read(ResultSet rs, RowBatch batch, int row) throws SQLException {
+            double value = rs.getDouble(readIndex);
+            if (rs.wasNull()) {
+                batch.setNull(column, row);
+            } else {
+                batch.setDouble(column, row, value);
+            }
+        }
+
+        @Override
+        protected void bindValue(PreparedStatement ps, RowBatch batch, int row) throws SQLException {
+            ps.setDouble(index, batch.getDouble(column, row));
+        }
+    }
+
+    static final class DecimalAccessor extends ColumnAccessor {
+        DecimalAccessor(int column, int readIndex, ColumnInfo info) {
+            super(column, readIndex, info, Types.NUMERIC);
+        }
+
+        @Override
+        RowBatch.Kind getKind() {
+            return RowBatch.Kind.OBJECT;
+        }
+
+        @Override
+        void read(ResultSet rs, RowBatch batch, int row) throws SQLException {
+            batch.setObject(column, row, rs.getBigDecimal(readIndex));
+        }
+
+        @Override
+        protected void bindValue(PreparedStatement ps, RowBatch batch, int row) throws SQLException {
+            ps.setBigDecimal(index, (BigDecimal) batch.getObject(column, row));
+        }
+    }
+
+    static final class StringAccessor extends ColumnAccessor {
+        StringAccessor(int column, int readIndex, ColumnInfo info, int sqlType) {
+            super(column, readIndex, info, sqlType);
+        }
+
+        @Override
+        void read(ResultSet rs, RowBatch batch, int row) throws SQLException {
+            batch.setObject(column, row, rs.getString(readIndex));
+        }
+
+        @Override
+        protected void bindValue(PreparedStatement ps, RowBatch batch, int row) throws SQLException {
+            ps.setString(index, (String) batch.getObject(column, row));
+        }
+    }
+
+    static final class TimestampAccessor extends ColumnAccessor {
+        TimestampAccessor(int column, int readIndex, ColumnInfo info) {
+            super(column, readIndex, info, Types.TIMESTAMP);
+        }
+
+        @Override
+        void read(ResultSet rs, RowBatch batch, int row) throws SQLException {
+            batch.setObject(column, row, rs.getTimestamp(readIndex));
+        }
+
+        @Override
+        protected void bindValue(PreparedStatement ps, RowBatch batch, int row) throws SQLException {
+            ps.setTimestamp(index, (Timestamp) batch.getObject(column, row));
+        }
+    }
+
+    static final class DateAccessor extends ColumnAccessor {
+        DateAccessor(int column, int readIndex, ColumnInfo info) {
+            super(column, readIndex, info, Types.DATE);
+        }
+
+        @Override
+        void read(ResultSet rs, RowBatch batch, int row) throws SQLException {
+            batch.setObject(column, row, rs.getDate(readIndex));
+        }
+
+        @Override
+        protected void bindValue(PreparedStatement ps, RowBatch batch, int row) throws SQLException {
+            ps.setDate(index, (Date) batch.getObject(column, row));
+        }
+    }
+
+    static final class BlobAccessor extends ColumnAccessor {
+        BlobAccessor(int column, int readIndex, ColumnInfo info) {
+            super(column, readIndex, info, Types.BLOB);
+        }
+
+        @Override
+        void read(ResultSet rs, RowBatch batch, int row) throws SQLException {
+            Blob blob = rs.getBlob(readIndex);
+            batch.setObject(column, row, blob != null ? blob.getBytes(1, (int) blob.length()) : null);
+        }
+
+        @Override
+        protected void bindValue(PreparedStatement ps, RowBatch batch, int row) throws SQLException {
+            ps.setBytes(index, (byte[]) batch.getObject(column, row));
+        }
+    }
+
+    static final class ClobAccessor extends ColumnAccessor {
+        ClobAccessor(int column, int readIndex, ColumnInfo info) {
+            super(column, readIndex, info, Types.CLOB);
+        }
+
+        @Override
+        void read(ResultSet rs, RowBatch batch, int row) throws SQLException {
+            Clob clob = rs.getClob(readIndex);
+            batch.setObject(column, row, clob != null ? clob.getSubString(1, (int) clob.length()) : null);
+        }
+
+        @Override
+        protected void bindValue(PreparedStatement ps, RowBatch batch, int row) throws SQLException {
+            ps.setString(index, (String) batch.getObject(column, row));
+        }
+    }
+
+    /**
+     * Keeps the source BLOB locator in the batch and lets the target driver pull the
+     * content through its own fixed-size chunk buffer, so no value is ever fully
+     * materialised on the heap and values over 2GB are supported. The length is read
+     * once with the locator, as every call on the locator is a source round trip and a
+     * batch may be bound more than once when it is retried or bisected.
+     */
+    static final class BlobStreamAccessor extends ColumnAccessor {
+        BlobStreamAccessor(int column, int readIndex, ColumnInfo info) {
+            super(column, readIndex, info, Types.BLOB);
+        }
+
+        @Override
+        void read(ResultSet rs, RowBatch batch, int row) throws SQLException {
+            Blob blob = rs.getBlob(readIndex);
+            batch.setLocator(column, row, blob, blob != null ? blob.length() : 0);
+        }
+
+        @Override
+        protected void bindValue(PreparedStatement ps, RowBatch batch, int row) throws SQLException {
+            Blob blob = (Blob) batch.getObject(column, row);
+            ps.setBinaryStream(index, blob.getBinaryStream(), batch.getLength(column, row));
+        }
+
+        @Override
+        boolean holdsLocator() {
+            return true;
+        }
+
+        @Override
+        void release(RowBatch batch, int row) {
+            Blob blob = (Blob) batch.getObject(column, row);
+            if (blob != null) {
+                try {
+                    blob.free();
+                } catch (SQLException e) {
+                    log.debug("Failed to free BLOB locator for {}", getInfo().getName(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Character counterpart of {@link BlobStreamAccessor}.
+     */
+    static final class ClobStreamAccessor extends ColumnAccessor {
+        ClobStreamAccessor(int column, int readIndex, ColumnInfo info) {
+            super(column, readIndex, info, Types.CLOB);
+        }
+
+        @Override
+        void read(ResultSet rs, RowBatch batch, int row) throws SQLException {
+            Clob clob = rs.getClob(readIndex);
+            batch.setLocator(column, row, clob, clob != null ? clob.length() : 0);
+        }
+
+        @Override
+        protected void bindValue(PreparedStatement ps, RowBatch batch, int row) throws SQLException {
+            Clob clob = (Clob) batch.getObject(column, row);
+            ps.setCharacterStream(index, clob.getCharacterStream(), batch.getLength(column, row));
+        }
+
+        @Override
+        boolean holdsLocator() {
+            return true;
+        }
+
+        @Override
+        void release(RowBatch batch, int row) {
+            Clob clob = (Clob) batch.getObject(column, row);
+            if (clob != null) {
+                try {
+                    clob.free();
+                } catch (SQLException e) {
+                    log.debug("Failed to free CLOB locator for {}", getInfo().getName(), e);
+                }
+            }
+        }
+    }
+
+    static final class ObjectAccessor extends ColumnAccessor {
+        ObjectAccessor(int column, int readIndex, ColumnInfo info) {
+            super(column, readIndex, info, Types.OTHER);
+        }
+
+        @Override
+        void read(ResultSet rs, RowBatch batch, int row) throws SQLException {
+            batch.setObject(column, row, rs.getObject(readIndex));
+        }
+
+        @Override
+        protected void bindValue(PreparedStatement ps, RowBatch batch, int row) throws SQLException {
+            ps.setObject(index, batch.getObject(column, row));
+        }
+    }
+
+    /**
+     * Reads a source value, or starts from nothing for a constant column, runs it through
+     * the column's compiled transform chain and binds the result by its final type.
+     */
+    static final class TransformAccessor extends ColumnAccessor {
+        private final ValueTransform.ValueType sourceType;
+        private final ValueTransform[] steps;
+
+        /**
+         * @param sourceType type the source column is read as, or null for a column without one
+         */
+        TransformAccessor(int column, int readIndex, ColumnInfo info, ValueTransform.ValueType sourceType,
+                          ValueTransform[] steps) {
+            super(column, readIndex, info, steps[steps.length - 1].getOutput().getSqlType());
+            this.sourceType = sourceType;
+            this.steps = steps;
+        }
+
+        @Override
+        RowBatch.Kind getKind() {
+            return RowBatch.Kind.OBJECT;
+        }
+
+        @Override
+        void read(ResultSet rs, RowBatch batch, int row) throws SQLException {
+            Object value = sourceType != null ? sourceType.read(rs, readIndex) : null;
+            try {
+                for (ValueTransform step : steps) {
+                    value = step.apply(value);
+                }
+            } catch (RuntimeException e) {
+                throw new SQLException("Cannot transform value of column " + getInfo().getName() + ": " + e.getMessage(), e);
+            }
+            batch.setObject(column, row, value);
+        }
+
+        @Override
+        protected void bindValue(PreparedStatement ps, RowBatch batch, int row) throws SQLException {
+            ps.setObject(index, batch.getObject(column, row), getSqlType());
+        }
+    }
+}
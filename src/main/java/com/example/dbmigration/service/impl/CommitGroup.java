@@ -0,0 +1,141 @@
+package com.example.dbmigration.service.impl;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+
+/**
+ * The open target transaction of one batch writer. Written batches are added to it
+ * until it holds {@code maxBatches} batches or {@code maxBytes} estimated bytes; it
+ * then records the slice checkpoint and commits in the same transaction, so a
+ * checkpoint never runs ahead of or behind the committed rows.
+ *
+ * <p>An asynchronous commit does not wait for the redo to reach disk. Rows and their
+ * checkpoint are still committed together, so a crash loses at most the last groups
+ * and a resumed run reads them again.
+ *
+ * <p>A writer that runs inside a transaction spanning its whole slice joins that
+ * transaction instead, and its commits do nothing. Such writers are given no
+ * checkpoint: they would all wait on the same checkpoint row while holding their
+ * slice transaction open for the others.
+ */
+class CommitGroup {
+
+    interface Checkpointer {
+        /**
+         * Records the group's last key and row count in its open transaction.
+         */
+        void record(String lastKey, long rows);
+
+        /**
+         * Called once the transaction the group was recorded in has committed.
+         */
+        default void committed(String lastKey, long rows) {
+        }
+    }
+
+    private final PlatformTransactionManager transactionManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxBatches;
+    private final long maxBytes;
+    private final boolean async;
+    private final Checkpointer checkpointer;
+    private TransactionStatus transaction;
+    private int batches;
+    private long bytes;
+    private long rows;
+    private String lastKey;
+
+    /**
+     * @param maxBytes estimated bytes after which to commit, or 0 for no limit
+     * @param checkpointer records the last key and row count of each commit, or null
+     */
+    CommitGroup(PlatformTransactionManager transactionManager, JdbcTemplate jdbcTemplate,
+                int maxBatches, long maxBytes, boolean async, Checkpointer checkpointer) {
+        this.transactionManager = transactionManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxBatches = Math.max(maxBatches, 1);
+        this.maxBytes = maxBytes;
+        this.async = async;
+        this.checkpointer = checkpointer;
+    }
+
+    /**
+     * Starts a transaction for the next batch unless one is open.
+     */
+    void begin() {
+        if (transaction == null) {
+            transaction = transactionManager.getTransaction(TransactionDefinition.withDefaults());
+        }
+    }
+
+    /**
+     * Adds a written batch and commits once the group is full.
+     *
+     * @param lastKey resume key of the batch's last row, or null
+     */
+    void added(int batchRows, long batchBytes, String lastKey) {
+        batches++;
+        bytes += batchBytes;
+        rows += batchRows;
+        if (lastKey != null) {
+            this.lastKey = lastKey;
+        }
+        if (batches >= maxBatches || (maxBytes > 0 && bytes >= maxBytes)) {
+            commit();
+        }
+    }
+
+    /**
+     * Commits the batches added since the last commit, if any.
+     */
+    void commit() {
+        if (transaction == null) {
+            return;
+        }
+        TransactionStatus status = transaction;
+        transaction = null;
+        String committedKey = lastKey;
+        long committedRows = rows;
+        boolean checkpointed = checkpointer != null && batches > 0;
+        try {
+            if (checkpointed) {
+                checkpointer.record(committedKey, committedRows);
+            }
+            if (async && status.isNewTransaction()) {
+                // Commits the work; the manager's own commit that follows has nothing left to do
+                jdbcTemplate.execute("COMMIT WRITE BATCH NOWAIT");
+            }
+        } catch (RuntimeException e) {
+            transactionManager.rollback(status);
+            throw e;
+        } finally {
+            reset();
+        }
+        transactionManager.commit(status);
+        if (checkpointed && status.isNewTransaction()) {
+            checkpointer.committed(committedKey, committedRows);
+        }
+    }
+
+    /**
+     * Rolls back the batches added since the last commit, if any.
+     */
+    void rollback() {
+        if (transaction == null) {
+            return;
+        }
+        TransactionStatus status = transaction;
+        transaction = null;
+        reset();
+        transactionManager.rollback(status);
+    }
+
+    private void reset() {
+        batches = 0;
+        bytes = 0;
+        rows = 0;
+        lastKey = null;
+    }
+}
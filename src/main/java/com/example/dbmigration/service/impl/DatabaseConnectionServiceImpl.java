@@ -1,21 +1,38 @@
 package com.example.dbmigration.service.impl;
 
+import com.example.dbmigration.config.WorkerExecutors;
+import com.example.dbmigration.model.PoolStats;
 import com.example.dbmigration.service.DatabaseConnectionService;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 @Service
 public class DatabaseConnectionServiceImpl implements DatabaseConnectionService {
 
     private final JdbcTemplate sourceJdbcTemplate;
     private final JdbcTemplate targetJdbcTemplate;
+    private final WorkerExecutors executors;
+    private final MeterRegistry meterRegistry;
 
     public DatabaseConnectionServiceImpl(
             @Qualifier("sourceJdbcTemplate") JdbcTemplate sourceJdbcTemplate,
-            @Qualifier("targetJdbcTemplate") JdbcTemplate targetJdbcTemplate) {
+            @Qualifier("targetJdbcTemplate") JdbcTemplate targetJdbcTemplate,
+            WorkerExecutors executors,
+            MeterRegistry meterRegistry) {
         this.sourceJdbcTemplate = sourceJdbcTemplate;
         this.targetJdbcTemplate = targetJdbcTemplate;
+        this.executors = executors;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
@@ -37,4 +54,42 @@ public class DatabaseConnectionServiceImpl implements DatabaseConnectionService
             return false;
         }
     }
-} 
\ No newline at end of file
+
+    @Override
+    public List<PoolStats> getPoolStats() {
+        return List.of(
+            poolStats(sourceJdbcTemplate.getDataSource(), executors.getSourceWaiting()),
+            poolStats(targetJdbcTemplate.getDataSource(), executors.getTargetWaiting()));
+    }
+
+    private PoolStats poolStats(DataSource dataSource, int workersAwaitingPermit) {
+        HikariDataSource hikari = (HikariDataSource) dataSource;
+        PoolStats stats = new PoolStats();
+        stats.setPool(hikari.getPoolName());
+        stats.setMaximumPoolSize(hikari.getMaximumPoolSize());
+        stats.setWorkersAwaitingPermit(workersAwaitingPermit);
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (pool != null) {
+            stats.setActive(pool.getActiveConnections());
+            stats.setIdle(pool.getIdleConnections());
+            stats.setTotal(pool.getTotalConnections());
+            stats.setThreadsAwaitingConnection(pool.getThreadsAwaitingConnection());
+        }
+        // Published by the pool's MicrometerMetricsTrackerFactory, see DataSourceConfig
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").tag("pool", stats.getPool()).timer();
+        if (acquire != null) {
+            stats.setAcquireCount(acquire.count());
+            stats.setAcquireMeanMillis(acquire.mean(TimeUnit.MILLISECONDS));
+            stats.setAcquireMaxMillis(acquire.max(TimeUnit.MILLISECONDS));
+        }
+        Timer usage = meterRegistry.find("hikaricp.connections.usage").tag("pool", stats.getPool()).timer();
+        if (usage != null) {
+            stats.setUsageMeanMillis(usage.mean(TimeUnit.MILLISECONDS));
+        }
+        Counter timeouts = meterRegistry.find("hikaricp.connections.timeout").tag("pool", stats.getPool()).counter();
+        if (timeouts != null) {
+            stats.setTimeouts(timeouts.count());
+        }
+        return stats;
+    }
+}
\ No newline at end of file
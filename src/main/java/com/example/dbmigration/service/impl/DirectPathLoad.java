@@ -0,0 +1,102 @@
+package com.example.dbmigration.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Puts a target table into bulk-load state for a direct-path load and puts it back
+ * afterwards: the table is switched to NOLOGGING for the duration of the load, and
+ * valid non-unique indexes are marked UNUSABLE and rebuilt once all rows are in.
+ * Unique and partitioned indexes are left maintained, since direct-path inserts
+ * cannot skip a unique index and partitioned ones need a per-partition rebuild.
+ */
+@Slf4j
+class DirectPathLoad implements AutoCloseable {
+
+    private static final String CURRENT_SCHEMA = "SYS_CONTEXT('USERENV', 'CURRENT_SCHEMA')";
+
+    private final JdbcTemplate targetJdbcTemplate;
+    private final String tableName;
+    private boolean restoreLogging;
+    private final List<String> deferredIndexes = new ArrayList<>();
+
+    private DirectPathLoad(JdbcTemplate targetJdbcTemplate, String tableName) {
+        this.targetJdbcTemplate = targetJdbcTemplate;
+        this.tableName = tableName;
+    }
+
+    static DirectPathLoad begin(JdbcTemplate targetJdbcTemplate, String tableName, boolean nologging, boolean deferIndexes) {
+        DirectPathLoad load = new DirectPathLoad(targetJdbcTemplate, tableName);
+        try {
+            if (nologging) {
+                load.disableLogging();
+            }
+            if (deferIndexes) {
+                load.deferIndexes();
+            }
+        } catch (RuntimeException e) {
+            load.close();
+            throw e;
+        }
+        return load;
+    }
+
+    private void disableLogging() {
+        List<String> logging = targetJdbcTemplate.queryForList(
+            "SELECT logging FROM all_tables WHERE owner = " + CURRENT_SCHEMA + " AND table_name = ?",
+            String.class, tableName.toUpperCase());
+        if (!logging.isEmpty() && "YES".equals(logging.get(0))) {
+            targetJdbcTemplate.execute("ALTER TABLE " + tableName + " NOLOGGING");
+            restoreLogging = true;
+            log.info("Switched {} to NOLOGGING for the direct-path load", tableName);
+        }
+    }
+
+    private void deferIndexes() {
+        List<String> indexes = targetJdbcTemplate.queryForList(
+            "SELECT index_name FROM all_indexes WHERE table_owner = " + CURRENT_SCHEMA + " AND table_name = ? " +
+            "AND uniqueness = 'NONUNIQUE' AND partitioned = 'NO' AND status = 'VALID' AND index_type <> 'LOB'",
+            String.class, tableName.toUpperCase());
+        for (String index : indexes) {
+            targetJdbcTemplate.execute("ALTER INDEX " + index + " UNUSABLE");
+            deferredIndexes.add(index);
+        }
+        if (!deferredIndexes.isEmpty()) {
+            log.info("Deferred maintenance of {} indexes on {}: {}", deferredIndexes.size(), tableName, deferredIndexes);
+        }
+    }
+
+    /**
+     * Rebuilds the deferred indexes and restores the table's logging attribute. Every
+     * step is attempted even if an earlier one fails; the first failure is rethrown.
+     */
+    @Override
+    public void close() {
+        RuntimeException failure = null;
+        for (String index : deferredIndexes) {
+            try {
+                log.info("Rebuilding index {} on {}", index, tableName);
+                targetJdbcTemplate.execute("ALTER INDEX " + index + " REBUILD");
+            } catch (RuntimeException e) {
+                log.error("Failed to rebuild index {} on {}; it is left UNUSABLE", index, tableName, e);
+                failure = failure == null ? e : failure;
+            }
+        }
+        deferredIndexes.clear();
+        if (restoreLogging) {
+            try {
+                targetJdbcTemplate.execute("ALTER TABLE " + tableName + " LOGGING");
+                restoreLogging = false;
+            } catch (RuntimeException e) {
+                log.error("Failed to switch {} back to LOGGING", tableName, e);
+                failure = failure == null ? e : failure;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.dbmigration.service.impl;
+
+import com.example.dbmigration.model.ColumnInfo;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects the rejected rows of one table for one run into a single CSV file,
+ * rolling over to a numbered file once it reaches the size limit. Callers format
+ * the row and queue it; a background thread owns the buffered file writer, so a
+ * table with many bad rows never waits on file I/O unless the queue is full.
+ * The thread is only started, and the file only created, once the first row is
+ * rejected, so the many tables without bad rows cost neither.
+ */
+@Slf4j
+class FailedRecordWriter implements AutoCloseable {
+
+    private static final int QUEUE_CAPACITY = 10_000;
+    private static final Object END = new Object();
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+
+    private final String directory;
+    private final String baseName;
+    private final String header;
+    private final long maxFileBytes;
+    private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final String tableName;
+    private volatile Thread thread;
+
+    private BufferedWriter writer;
+    /** Characters written to the current file; close enough to bytes for rotation. */
+    private long fileBytes;
+    private int fileIndex;
+    private long recordCount;
+    private volatile boolean closed;
+
+    FailedRecordWriter(String directory, String tableName, List<ColumnInfo> columns, long maxFileBytes) {
+        this.directory = directory;
+        this.tableName = tableName;
+        this.baseName = tableName + "_failed_records_" + LocalDateTime.now().format(FILE_TIMESTAMP);
+        this.maxFileBytes = maxFileBytes;
+        StringBuilder line = new StringBuilder("timestamp,error_message");
+        for (ColumnInfo column : columns) {
+            line.append(',');
+            appendField(line, column.getName());
+        }
+        this.header = line.append('\n').toString();
+    }
+
+    /**
+     * Queues one row of the batch. The values are formatted before returning, since
+     * the batch is reused once it has been written.
+     */
+    void write(RowBatch batch, int row, String errorMessage) {
+        StringBuilder line = new StringBuilder(128);
+        line.append(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)).append(',');
+        appendField(line, errorMessage);
+        for (int c = 0; c < batch.columnCount(); c++) {
+            line.append(',');
+            appendField(line, format(batch.getValue(c, row)));
+        }
+        line.append('\n');
+        if (thread == null) {
+            start();
+        }
+        try {
+            queue.put(line.toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while logging a failed record of {}", baseName);
+        }
+    }
+
+    /**
+     * Waits for the queued rows to be written and closes the file.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (thread == null) {
+            return;
+        }
+        try {
+            queue.put(END);
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while closing failed records of {}", baseName);
+        }
+        if (recordCount > 0) {
+            log.info("Wrote {} failed records to {}/{}*.csv", recordCount, directory, baseName);
+        }
+    }
+
+    private synchronized void start() {
+        if (thread == null) {
+            Thread started = new Thread(this::run, "failed-records-" + tableName);
+            started.setDaemon(true);
+            started.start();
+            thread = started;
+        }
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                Object item = queue.poll(1, TimeUnit.SECONDS);
+                if (item == null) {
+                    // Idle: make what was written so far visible
+                    flush();
+                    continue;
+                }
+                if (item == END) {
+                    break;
+                }
+                append((String) item);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closeFile();
+        }
+    }
+
+    private void append(String line) {
+        try {
+            if (writer == null || fileBytes >= maxFileBytes) {
+                openNextFile();
+            }
+            writer.write(line);
+            fileBytes += line.length();
+            recordCount++;
+        } catch (IOException e) {
+            log.error("Failed to write failed record for {}", baseName, e);
+        }
+    }
+
+    private void openNextFile() throws IOException {
+        closeFile();
+        String name = fileIndex == 0 ? baseName + ".csv" : baseName + "_" + fileIndex + ".csv";
+        fileIndex++;
+        Path file = Paths.get(directory, name);
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        writer.write(header);
+        fileBytes = header.length();
+    }
+
+    private void flush() {
+        if (writer != null) {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                log.error("Failed to flush failed records for {}", baseName, e);
+            }
+        }
+    }
+
+    private void closeFile() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                log.error("Failed to close failed records file for {}", baseName, e);
+            }
+            writer = null;
+        }
+    }
+
+    private static String format(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof byte[] bytes) {
+            return HexFormat.of().formatHex(bytes);
+        }
+        if (value instanceof Blob) {
+            return "[BLOB]";
+        }
+        if (value instanceof Clob) {
+            return "[CLOB]";
+        }
+        return value.toString();
+    }
+
+    /**
+     * Appends a field, quoting it when it contains a separator, a quote or a line break.
+     */
+    private static void appendField(StringBuilder line, String value) {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char ch = value.charAt(i);
+            quote = ch == ',' || ch == '"' || ch == '\n' || ch == '\r';
+        }
+        if (!quote) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch == '"') {
+                line.append('"');
+            }
+            line.append(ch);
+        }
+        line.append('"');
+    }
+}
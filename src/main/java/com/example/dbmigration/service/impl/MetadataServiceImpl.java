@@ -0,0 +1,250 @@
+package com.example.dbmigration.service.impl;
+
+import com.example.dbmigration.model.ColumnInfo;
+import com.example.dbmigration.model.MigrationMapping;
+import com.example.dbmigration.service.MetadataService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Caches what the migration reads from the data dictionary. {@link #load} fetches
+ * the columns, statistics, partitions and constraints of all tables of a job with
+ * one query per dictionary view, instead of one query per table, partition and
+ * lookup. A table that was not part of a load, or was invalidated since, is loaded
+ * on its own the first time it is asked for.
+ *
+ * <p>Table names are looked up in upper case in the current schema of each
+ * connection.
+ */
+@Slf4j
+@Service
+public class MetadataServiceImpl implements MetadataService {
+
+    private static final String CURRENT_SCHEMA = "SYS_CONTEXT('USERENV', 'CURRENT_SCHEMA')";
+    /** Oracle accepts at most 1000 expressions in an IN list. */
+    private static final int MAX_IN_LIST = 1000;
+
+    private static final class TableMetadata {
+        private final List<ColumnInfo> columns = new ArrayList<>();
+        private final List<String> primaryKey = new ArrayList<>();
+        private final List<String> partitionKey = new ArrayList<>();
+        /** Partitions in position order, with their analyzed row count or null. */
+        private final Map<String, Long> partitions = new LinkedHashMap<>();
+        private final List<String> referencedTables = new ArrayList<>();
+        private Long numRows;
+        private long avgRowLen = 1;
+    }
+
+    private final JdbcTemplate sourceJdbcTemplate;
+    private final JdbcTemplate targetJdbcTemplate;
+    private final Map<String, TableMetadata> sourceTables = new ConcurrentHashMap<>();
+    private final Map<String, TableMetadata> targetTables = new ConcurrentHashMap<>();
+
+    public MetadataServiceImpl(
+            @Qualifier("sourceJdbcTemplate") JdbcTemplate sourceJdbcTemplate,
+            @Qualifier("targetJdbcTemplate") JdbcTemplate targetJdbcTemplate) {
+        this.sourceJdbcTemplate = sourceJdbcTemplate;
+        this.targetJdbcTemplate = targetJdbcTemplate;
+    }
+
+    @Override
+    public void invalidate() {
+        sourceTables.clear();
+        targetTables.clear();
+        log.info("Invalidated cached dictionary metadata");
+    }
+
+    @Override
+    public void invalidate(String tableName) {
+        String key = tableName.toUpperCase();
+        sourceTables.remove(key);
+        targetTables.remove(key);
+        log.info("Invalidated cached dictionary metadata of {}", key);
+    }
+
+    @Override
+    public void load(Collection<? extends MigrationMapping> mappings) {
+        Set<String> sources = mappings.stream()
+                .map(m -> m.getSourceTable().toUpperCase())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Set<String> targets = mappings.stream()
+                .map(m -> m.getTargetTable().toUpperCase())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        long start = System.nanoTime();
+        sourceTables.putAll(loadSource(sources));
+        targetTables.putAll(loadTarget(targets));
+        log.info("Loaded dictionary metadata of {} source and {} target tables in {} ms",
+            sources.size(), targets.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    @Override
+    public List<ColumnInfo> getColumns(String tableName) {
+        return Collections.unmodifiableList(source(tableName).columns);
+    }
+
+    @Override
+    public long getEstimatedRows(String tableName) {
+        Long rows = source(tableName).numRows;
+        return rows != null ? rows : -1;
+    }
+
+    @Override
+    public long getEstimatedBytes(String tableName) {
+        TableMetadata table = source(tableName);
+        return table.numRows != null ? table.numRows * table.avgRowLen : 0;
+    }
+
+    @Override
+    public List<String> getPartitions(String tableName) {
+        return new ArrayList<>(source(tableName).partitions.keySet());
+    }
+
+    @Override
+    public Map<String, Long> getPartitionRows(String tableName) {
+        Map<String, Long> rows = new HashMap<>();
+        source(tableName).partitions.forEach((partition, numRows) -> {
+            if (numRows != null) {
+                rows.put(partition, numRows);
+            }
+        });
+        return rows;
+    }
+
+    @Override
+    public List<String> getPartitionKeyColumns(String tableName) {
+        return Collections.unmodifiableList(source(tableName).partitionKey);
+    }
+
+    @Override
+    public List<String> getPrimaryKey(String sourceTable) {
+        return Collections.unmodifiableList(source(sourceTable).primaryKey);
+    }
+
+    @Override
+    public List<String> getTargetPrimaryKey(String targetTable) {
+        return Collections.unmodifiableList(target(targetTable).primaryKey);
+    }
+
+    @Override
+    public List<String> getReferencedTables(String targetTable) {
+        return Collections.unmodifiableList(target(targetTable).referencedTables);
+    }
+
+    private TableMetadata source(String tableName) {
+        return cached(sourceTables, tableName, this::loadSource);
+    }
+
+    private TableMetadata target(String tableName) {
+        return cached(targetTables, tableName, this::loadTarget);
+    }
+
+    private static TableMetadata cached(Map<String, TableMetadata> cache, String tableName,
+                                        Function<Set<String>, Map<String, TableMetadata>> loader) {
+        String key = tableName.toUpperCase();
+        TableMetadata table = cache.get(key);
+        if (table == null) {
+            table = loader.apply(Set.of(key)).get(key);
+            cache.put(key, table);
+        }
+        return table;
+    }
+
+    private Map<String, TableMetadata> loadSource(Set<String> names) {
+        Map<String, TableMetadata> tables = newTables(names);
+        queryIn(sourceJdbcTemplate,
+            "SELECT table_name, column_name, data_type, data_length, data_precision, data_scale " +
+            "FROM all_tab_columns WHERE owner = " + CURRENT_SCHEMA + " AND table_name IN (%s) " +
+            "ORDER BY table_name, column_id", names, rs -> {
+                ColumnInfo column = new ColumnInfo();
+                column.setName(rs.getString("column_name"));
+                column.setDataType(rs.getString("data_type"));
+                column.setLength(rs.getInt("data_length"));
+                column.setPrecision(rs.getInt("data_precision"));
+                column.setScale(rs.getInt("data_scale"));
+                tables.get(rs.getString("table_name")).columns.add(column);
+            });
+        queryIn(sourceJdbcTemplate,
+            "SELECT table_name, num_rows, NVL(avg_row_len, 1) FROM all_tables " +
+            "WHERE owner = " + CURRENT_SCHEMA + " AND table_name IN (%s)", names, rs -> {
+                TableMetadata table = tables.get(rs.getString(1));
+                long rows = rs.getLong(2);
+                table.numRows = rs.wasNull() ? null : rows;
+                table.avgRowLen = Math.max(rs.getLong(3), 1);
+            });
+        queryIn(sourceJdbcTemplate,
+            "SELECT table_name, partition_name, num_rows FROM all_tab_partitions " +
+            "WHERE table_owner = " + CURRENT_SCHEMA + " AND table_name IN (%s) " +
+            "ORDER BY table_name, partition_position", names, rs -> {
+                long rows = rs.getLong(3);
+                tables.get(rs.getString(1)).partitions.put(rs.getString(2), rs.wasNull() ? null : rows);
+            });
+        queryIn(sourceJdbcTemplate,
+            "SELECT name, column_name FROM all_part_key_columns " +
+            "WHERE owner = " + CURRENT_SCHEMA + " AND object_type = 'TABLE' AND name IN (%s) " +
+            "ORDER BY name, column_position", names, rs -> {
+                tables.get(rs.getString(1)).partitionKey.add(rs.getString(2));
+            });
+        loadPrimaryKeys(sourceJdbcTemplate, tables);
+        return tables;
+    }
+
+    private Map<String, TableMetadata> loadTarget(Set<String> names) {
+        Map<String, TableMetadata> tables = newTables(names);
+        loadPrimaryKeys(targetJdbcTemplate, tables);
+        queryIn(targetJdbcTemplate,
+            "SELECT DISTINCT c.table_name, p.table_name FROM all_constraints c " +
+            "JOIN all_constraints p ON p.owner = c.r_owner AND p.constraint_name = c.r_constraint_name " +
+            "WHERE c.owner = " + CURRENT_SCHEMA + " AND c.constraint_type = 'R' AND c.table_name IN (%s)", names, rs -> {
+                tables.get(rs.getString(1)).referencedTables.add(rs.getString(2));
+            });
+        return tables;
+    }
+
+    private static void loadPrimaryKeys(JdbcTemplate jdbcTemplate, Map<String, TableMetadata> tables) {
+        queryIn(jdbcTemplate,
+            "SELECT c.table_name, cc.column_name FROM all_constraints c " +
+            "JOIN all_cons_columns cc ON cc.owner = c.owner AND cc.constraint_name = c.constraint_name " +
+            "WHERE c.owner = " + CURRENT_SCHEMA + " AND c.constraint_type = 'P' AND c.table_name IN (%s) " +
+            "ORDER BY c.table_name, cc.position", tables.keySet(), rs -> {
+                tables.get(rs.getString(1)).primaryKey.add(rs.getString(2));
+            });
+    }
+
+    private static Map<String, TableMetadata> newTables(Set<String> names) {
+        Map<String, TableMetadata> tables = new HashMap<>();
+        for (String name : names) {
+            tables.put(name, new TableMetadata());
+        }
+        return tables;
+    }
+
+    /**
+     * Runs {@code sql} with its {@code %s} replaced by bind markers for the names,
+     * splitting the names over several executions when there are too many for one list.
+     */
+    private static void queryIn(JdbcTemplate jdbcTemplate, String sql, Collection<String> names, RowCallbackHandler handler) {
+        List<String> list = new ArrayList<>(names);
+        for (int from = 0; from < list.size(); from += MAX_IN_LIST) {
+            List<String> chunk = list.subList(from, Math.min(from + MAX_IN_LIST, list.size()));
+            String markers = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            jdbcTemplate.query(String.format(sql, markers), handler, chunk.toArray());
+        }
+    }
+}
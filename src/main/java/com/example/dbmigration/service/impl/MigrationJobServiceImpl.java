@@ -0,0 +1,172 @@
+package com.example.dbmigration.service.impl;
+
+import com.example.dbmigration.config.MappingConfig;
+import com.example.dbmigration.config.MigrationProperties;
+import com.example.dbmigration.model.MigrationJob;
+import com.example.dbmigration.model.MigrationMapping;
+import com.example.dbmigration.model.MigrationResult;
+import com.example.dbmigration.model.ProgressState;
+import com.example.dbmigration.service.MigrationJobService;
+import com.example.dbmigration.service.MigrationService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class MigrationJobServiceImpl implements MigrationJobService {
+
+    private final MigrationService migrationService;
+    private final MappingConfig mappingConfig;
+    private final ExecutorService jobExecutor;
+    private final int retainFinished;
+    private final Map<String, MigrationJob> jobs = new ConcurrentHashMap<>();
+
+    public MigrationJobServiceImpl(MigrationService migrationService, MappingConfig mappingConfig,
+                                   MigrationProperties properties) {
+        this.migrationService = migrationService;
+        this.mappingConfig = mappingConfig;
+        this.jobExecutor = Executors.newFixedThreadPool(Math.max(properties.getJobs().getMaxConcurrent(), 1),
+                new CustomizableThreadFactory("migration-job-"));
+        this.retainFinished = Math.max(properties.getJobs().getRetainFinished(), 0);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        jobs.values().forEach(MigrationJob::requestCancel);
+        jobExecutor.shutdown();
+    }
+
+    @Override
+    public MigrationJob submitTables() {
+        return submit("tables", migrationService::migrateAllTables);
+    }
+
+    @Override
+    public MigrationJob submitPartitions() {
+        return submit("partitions", migrationService::migrateAllPartitions);
+    }
+
+    @Override
+    public MigrationJob submitAll() {
+        return submit("all", migrationService::migrateAll);
+    }
+
+    @Override
+    public MigrationJob submitExport(String mappingName) {
+        return submitEach("export", findMappings(mappingName), migrationService::exportSnapshot);
+    }
+
+    @Override
+    public MigrationJob submitImport(String mappingName) {
+        return submitEach("import", findMappings(mappingName), migrationService::importSnapshot);
+    }
+
+    @Override
+    public Optional<MigrationJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    @Override
+    public List<MigrationJob> getJobs() {
+        return new ArrayList<>(jobs.values());
+    }
+
+    @Override
+    public Optional<MigrationJob> cancel(String jobId) {
+        MigrationJob job = jobs.get(jobId);
+        if (job != null && !job.getState().isFinished()) {
+            log.info("Cancelling migration job {}", jobId);
+            job.requestCancel();
+        }
+        return Optional.ofNullable(job);
+    }
+
+    private List<MigrationMapping> findMappings(String mappingName) {
+        List<MigrationMapping> mappings = new ArrayList<>(mappingConfig.getTables());
+        mappings.addAll(mappingConfig.getPartitions());
+        if (mappingName != null && !mappingName.isEmpty()) {
+            mappings.removeIf(m -> !m.getMappingName().equalsIgnoreCase(mappingName));
+            if (mappings.isEmpty()) {
+                throw new IllegalArgumentException("No configured mapping " + mappingName);
+            }
+        }
+        return mappings;
+    }
+
+    /**
+     * Submits a job running the work for one mapping after the other, until cancelled.
+     */
+    private MigrationJob submitEach(String type, List<MigrationMapping> mappings,
+                                    BiFunction<MigrationMapping, MigrationJob, MigrationResult> work) {
+        return submit(type, job -> {
+            List<MigrationResult> results = new ArrayList<>();
+            for (MigrationMapping mapping : mappings) {
+                if (job.isCancelRequested()) {
+                    break;
+                }
+                results.add(work.apply(mapping, job));
+            }
+            return results;
+        });
+    }
+
+    private MigrationJob submit(String type, Function<MigrationJob, List<MigrationResult>> work) {
+        MigrationJob job = new MigrationJob(type);
+        jobs.put(job.getJobId(), job);
+        jobExecutor.execute(() -> run(job, work));
+        log.info("Submitted {} migration job {}", type, job.getJobId());
+        return job;
+    }
+
+    private void run(MigrationJob job, Function<MigrationJob, List<MigrationResult>> work) {
+        if (job.isCancelRequested()) {
+            job.finish(ProgressState.CANCELLED, null);
+            evictFinished();
+            return;
+        }
+        job.start();
+        try {
+            job.getResults().addAll(work.apply(job));
+            if (job.isCancelRequested()) {
+                job.finish(ProgressState.CANCELLED, null);
+            } else if (job.getTables().stream().anyMatch(t -> t.getState() != ProgressState.COMPLETED)) {
+                job.finish(ProgressState.FAILED, "One or more tables failed");
+            } else {
+                job.finish(ProgressState.COMPLETED, null);
+            }
+        } catch (Exception e) {
+            log.error("Migration job {} failed", job.getJobId(), e);
+            job.finish(ProgressState.FAILED, e.getMessage());
+        }
+        log.info("Migration job {} finished: {}", job.getJobId(), job.getState());
+        evictFinished();
+    }
+
+    /**
+     * Drops the oldest finished jobs beyond the retained number, so a long-running
+     * instance does not keep the results of every job it ever ran.
+     */
+    private void evictFinished() {
+        List<MigrationJob> finished = jobs.values().stream()
+                .filter(j -> j.getState().isFinished())
+                .sorted(Comparator.comparing(MigrationJob::getFinishedAt))
+                .collect(Collectors.toList());
+        for (int i = 0; i < finished.size() - retainFinished; i++) {
+            jobs.remove(finished.get(i).getJobId());
+        }
+    }
+}
@@ -1,32 +1,60 @@
 package com.example.dbmigration.service.impl;
 
 import com.example.dbmigration.config.MappingConfig;
+import com.example.dbmigration.config.MigrationProperties;
+import com.example.dbmigration.config.WorkerExecutors;
+import com.example.dbmigration.model.Checkpoint;
+import com.example.dbmigration.model.ColumnInfo;
+import com.example.dbmigration.model.ErrorMode;
+import com.example.dbmigration.model.LobMode;
+import com.example.dbmigration.model.MigrationJob;
+import com.example.dbmigration.model.MigrationMapping;
+import com.example.dbmigration.model.MigrationResult;
 import com.example.dbmigration.model.PartitionMapping;
+import com.example.dbmigration.model.ProgressState;
+import com.example.dbmigration.model.SliceProgress;
+import com.example.dbmigration.model.SliceResult;
 import com.example.dbmigration.model.TableMapping;
+import com.example.dbmigration.model.TableProgress;
+import com.example.dbmigration.model.WriteStrategy;
+import com.example.dbmigration.service.CheckpointService;
+import com.example.dbmigration.service.MetadataService;
 import com.example.dbmigration.service.MigrationService;
-import lombok.Data;
+import com.example.dbmigration.service.WatermarkService;
+import lombok.AllArgsConstructor;
+import oracle.jdbc.OracleStatement;
 import lombok.Getter;
-import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.TransactionAwareDataSourceProxy;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.io.BufferedWriter;
-import java.io.FileWriter;
+import javax.sql.DataSource;
+import java.math.BigDecimal;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.sql.*;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.Map;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -35,18 +63,53 @@ public class MigrationServiceImpl implements MigrationService {
 
     private final JdbcTemplate sourceJdbcTemplate;
     private final JdbcTemplate targetJdbcTemplate;
+    /** Source connections that are the worker's own session when it holds one; closing them only releases. */
+    private final DataSource sourceSessions;
+    private final PlatformTransactionManager targetTransactionManager;
+    private final TransactionTemplate targetTransactionTemplate;
+    /** Savepoint inside an enclosing target transaction, or a transaction of its own. */
+    private final TransactionTemplate nestedTransactionTemplate;
+    private static final String ROWID = "ROWID";
+
     private final MappingConfig mappingConfig;
+    private final MigrationProperties properties;
+    private final CheckpointService checkpointService;
+    private final WatermarkService watermarkService;
+    private final MetadataService metadata;
+    private final MigrationMetrics metrics;
+    private final WorkerExecutors executors;
     private final String failedRecordsDir;
+    private final int retryMaxAttempts;
+    private final long retryDelayMs;
 
     public MigrationServiceImpl(
             @Qualifier("sourceJdbcTemplate") JdbcTemplate sourceJdbcTemplate,
             @Qualifier("targetJdbcTemplate") JdbcTemplate targetJdbcTemplate,
+            @Qualifier("targetTransactionManager") PlatformTransactionManager targetTransactionManager,
             MappingConfig mappingConfig,
-            @Value("${app.migration.output.failed-records-dir}") String failedRecordsDir) {
+            MigrationProperties properties,
+            CheckpointService checkpointService,
+            WatermarkService watermarkService,
+            MetadataService metadata,
+            MigrationMetrics metrics,
+            WorkerExecutors executors) {
         this.sourceJdbcTemplate = sourceJdbcTemplate;
         this.targetJdbcTemplate = targetJdbcTemplate;
+        this.sourceSessions = new TransactionAwareDataSourceProxy(sourceJdbcTemplate.getDataSource());
+        this.targetTransactionManager = targetTransactionManager;
+        this.targetTransactionTemplate = new TransactionTemplate(targetTransactionManager);
+        this.nestedTransactionTemplate = new TransactionTemplate(targetTransactionManager);
+        this.nestedTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
         this.mappingConfig = mappingConfig;
-        this.failedRecordsDir = failedRecordsDir;
+        this.properties = properties;
+        this.checkpointService = checkpointService;
+        this.watermarkService = watermarkService;
+        this.metadata = metadata;
+        this.metrics = metrics;
+        this.executors = executors;
+        this.failedRecordsDir = properties.getOutput().getFailedRecordsDir();
+        this.retryMaxAttempts = Math.max(properties.getRetry().getMaxAttempts(), 1);
+        this.retryDelayMs = properties.getRetry().getDelayMs();
         createFailedRecordsDirectory();
     }
 
@@ -61,214 +124,1082 @@ public class MigrationServiceImpl implements MigrationService {
         }
     }
 
-    private String getFailedRecordsFileName(String tableName) {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-        return String.format("%s/%s_failed_records_%s.csv", failedRecordsDir, tableName, timestamp);
+    @Override
+    public MigrationResult migrateTable(TableMapping mapping, MigrationJob job) {
+        log.info("Starting migration for table: {} -> {}", mapping.getSourceTable(), mapping.getTargetTable());
+        
+        TableProgress progress = job.addTable(mapping.getSourceTable(), mapping.getTargetTable());
+        MigrationResult result = new MigrationResult(mapping.getSourceTable(), mapping.getTargetTable());
+        List<ColumnInfo> columns;
+        List<Slice> chunks;
+        Map<String, Checkpoint> checkpoints;
+        TablePlan plan = null;
+        DirectPathLoad load;
+        try {
+            // Get column information with data types
+            columns = metadata.getColumns(mapping.getSourceTable());
+            chunks = splitTable(mapping, columns);
+            checkCommitSettings(mapping, chunks);
+            checkpoints = checkpointService.begin(mapping.getMappingName(), mapping.isResume());
+            plan = createPlan(mapping, columns);
+            progress.start(metadata.getEstimatedRows(mapping.getSourceTable()));
+            load = beginLoad(mapping);
+        } catch (Exception e) {
+            log.error("Error migrating table: {} -> {}", mapping.getSourceTable(), mapping.getTargetTable(), e);
+            progress.finish(ProgressState.FAILED);
+            if (plan != null) {
+                plan.close();
+            }
+            throw new RuntimeException("Migration failed", e);
+        }
+        
+        try (TablePlan tablePlan = plan) {
+            try {
+                copyTable(mapping, tablePlan, columns, chunks, checkpoints, progress, result);
+            } finally {
+                endLoad(load, progress);
+            }
+            saveWatermark(mapping, tablePlan, progress, result);
+        }
+        
+        log.info("Completed migration for table: {} -> {} ({} rows, {} failed slices)", 
+            mapping.getSourceTable(), mapping.getTargetTable(), result.getRowCount(), result.getFailed());
+        return result;
     }
 
-    private void logFailedRecord(String fileName, Map<String, Object> record, String errorMessage) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(fileName, true))) {
-            // Write header if file is new
-            if (Files.size(Paths.get(fileName)) == 0) {
-                writer.write("timestamp,error_message,record_data\n");
+    private void copyTable(TableMapping mapping, TablePlan plan, List<ColumnInfo> columns, List<Slice> chunks,
+            Map<String, Checkpoint> checkpoints, TableProgress progress, MigrationResult result) {
+        if (chunks == null) {
+            Slice slice = new Slice(mapping.getSourceTable(), null, null, List.of(), findResumeKey(mapping, columns));
+            SliceResult sliceResult;
+            try {
+                SliceCheckpointer checkpointer = checkpointer(mapping, slice, checkpoints.get(slice.getName()));
+                sliceResult = executors.withSourceConnection(() -> migrateSlice(mapping, plan, slice, 
+                    checkpointer, false, progress.slice(slice.getName()), progress.getEstimatedRows()));
+            } catch (Exception e) {
+                // migrateSlice reports its own failures; this is an interrupt while waiting for a connection
+                finishTable(progress, result);
+                throw new RuntimeException("Migration failed", e);
             }
-
-            // Write failed record
-            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-            String recordData = record.entrySet().stream()
-                    .map(e -> String.format("%s=%s", e.getKey(), e.getValue()))
-                    .collect(Collectors.joining("|"));
+            result.getSlices().add(sliceResult);
+            if (!sliceResult.isSuccess()) {
+                finishTable(progress, result);
+                throw new RuntimeException("Migration failed: " + sliceResult.getErrorMessage());
+            }
+        } else {
+            int concurrency = effectiveConcurrency(mapping, chunks.size());
+            log.info("Migrating {} {} chunks of {} with {} workers", 
+                chunks.size(), mapping.getSplitStrategy(), mapping.getSourceTable(), concurrency);
             
-            writer.write(String.format("%s,%s,%s\n", timestamp, errorMessage, recordData));
-        } catch (IOException e) {
-            log.error("Failed to write failed record to file: {}", fileName, e);
+            long chunkEstimate = progress.getEstimatedRows() < 0 ? -1 : progress.getEstimatedRows() / Math.max(chunks.size(), 1);
+            List<Callable<SliceResult>> tasks = new ArrayList<>();
+            for (Slice chunk : chunks) {
+                SliceProgress sliceProgress = progress.slice(chunk.getName());
+                tasks.add(() -> migrateChunk(mapping, chunk, plan, checkpoints.get(chunk.getName()), sliceProgress, chunkEstimate));
+            }
+            result.getSlices().addAll(runParallel("chunk-" + mapping.getSourceTable() + "-", concurrency, tasks));
+        }
+        finishTable(progress, result);
+    }
+
+    private DirectPathLoad beginLoad(MigrationMapping mapping) {
+        if (!isDirectPath(mapping)) {
+            return null;
+        }
+        return DirectPathLoad.begin(targetJdbcTemplate, mapping.getTargetTable(), mapping.isNologging(), mapping.isDeferIndexes());
+    }
+
+    private static void endLoad(DirectPathLoad load, TableProgress progress) {
+        if (load == null) {
+            return;
+        }
+        try {
+            load.close();
+        } catch (RuntimeException e) {
+            progress.finish(ProgressState.FAILED);
+            throw new RuntimeException("Failed to restore target table after direct-path load", e);
+        }
+    }
+
+    private static boolean isDirectPath(MigrationMapping mapping) {
+        return mapping.getWriteStrategy() == WriteStrategy.DIRECT_PATH && !isIncremental(mapping);
+    }
+
+    /**
+     * Whether the target is written with a MERGE, which makes writing a row twice harmless.
+     */
+    private static boolean isUpsert(MigrationMapping mapping) {
+        return mapping.getWriteStrategy() == WriteStrategy.MERGE || isIncremental(mapping);
+    }
+
+    private static boolean isIncremental(MigrationMapping mapping) {
+        return mapping.getIncrementalColumn() != null && !mapping.getIncrementalColumn().isEmpty();
+    }
+
+    /**
+     * Takes the upper bound of an incremental run before any slice starts reading, so
+     * rows changed while the run is in progress are left for the next run.
+     */
+    private IncrementalWindow openIncrementalWindow(MigrationMapping mapping, List<ColumnInfo> columns) {
+        if (!isIncremental(mapping)) {
+            return null;
+        }
+        String column = mapping.getIncrementalColumn();
+        boolean scn = IncrementalWindow.ORA_ROWSCN.equalsIgnoreCase(column);
+        String lowerBound = watermarkService.getWatermark(mapping.getMappingName(), 
+            scn ? IncrementalWindow.ORA_ROWSCN : columns.get(indexOf(columns, column)).getName());
+        IncrementalWindow window;
+        if (scn) {
+            Long currentScn = sourceJdbcTemplate.queryForObject(
+                "SELECT DBMS_FLASHBACK.GET_SYSTEM_CHANGE_NUMBER FROM dual", Long.class);
+            window = new IncrementalWindow(IncrementalWindow.ORA_ROWSCN, IncrementalWindow.Kind.SCN, lowerBound, String.valueOf(currentScn));
+        } else {
+            ColumnInfo info = columns.get(indexOf(columns, column));
+            StringBuilder sql = new StringBuilder("SELECT MAX(").append(info.getName()).append(") FROM ").append(mapping.getSourceTable());
+            appendWhere(sql, mapping.getWhereClause());
+            String upperBound;
+            IncrementalWindow.Kind kind;
+            if ("NUMBER".equals(info.getDataType())) {
+                kind = IncrementalWindow.Kind.NUMBER;
+                BigDecimal max = sourceJdbcTemplate.queryForObject(sql.toString(), BigDecimal.class);
+                upperBound = max != null ? max.toPlainString() : lowerBound;
+            } else if ("DATE".equals(info.getDataType()) || info.getDataType().startsWith("TIMESTAMP")) {
+                kind = "DATE".equals(info.getDataType()) ? IncrementalWindow.Kind.DATE : IncrementalWindow.Kind.TIMESTAMP;
+                Timestamp max = sourceJdbcTemplate.queryForObject(sql.toString(), Timestamp.class);
+                upperBound = max != null ? max.toString() : lowerBound;
+            } else {
+                throw new IllegalArgumentException("Incremental column " + column + " of " + mapping.getSourceTable() + 
+                    " must be a NUMBER, DATE or TIMESTAMP column, or ORA_ROWSCN");
+            }
+            window = new IncrementalWindow(info.getName(), kind, lowerBound, upperBound);
+        }
+        log.info("Incremental run of {}: {} after {} up to {}", mapping.getMappingName(), window.getColumn(), 
+            lowerBound != null ? lowerBound : "(first run, full copy)", window.getUpperBound());
+        return window;
+    }
+
+    /**
+     * Advances the high-water mark once every slice of an incremental run succeeded.
+     * Otherwise the mark stays put and the next run reads the same window again.
+     */
+    private void saveWatermark(MigrationMapping mapping, TablePlan plan, TableProgress progress, MigrationResult result) {
+        IncrementalWindow window = plan.getIncrementalWindow();
+        if (window == null || window.getUpperBound() == null) {
+            return;
+        }
+        if (result.getFailed() > 0 || progress.isCancelled()) {
+            log.warn("High-water mark of {} left at {}: the run did not complete", mapping.getMappingName(), window.getLowerBound());
+            return;
+        }
+        watermarkService.saveWatermark(mapping.getMappingName(), window.getColumn(), window.getUpperBound());
+    }
+
+    /**
+     * Direct-path inserts lock the whole target table, so a second writer of the same
+     * slice would only wait for the first to commit.
+     */
+    private static int writerCount(MigrationMapping mapping) {
+        return isDirectPath(mapping) ? 1 : mapping.getWriterCount();
+    }
+
+    private static void finishTable(TableProgress progress, MigrationResult result) {
+        if (progress.isCancelled()) {
+            progress.finish(ProgressState.CANCELLED);
+        } else {
+            progress.finish(result.getFailed() > 0 ? ProgressState.FAILED : ProgressState.COMPLETED);
         }
     }
 
+    /**
+     * Migrates one key range. A checkpointed chunk of a mapping that resumes commits batch
+     * groups as it goes, and a failed attempt is retried after the last committed group.
+     * Otherwise the chunk is written by one writer in a single target transaction, so
+     * that a failed attempt rolls back completely and the range is retried from its
+     * start; direct-path loads cannot add more than one batch to a transaction and are
+     * not retried then.
+     */
+    private SliceResult migrateChunk(TableMapping mapping, Slice chunk, TablePlan plan, Checkpoint checkpoint,
+            SliceProgress progress, long estimatedRows) {
+        long start = System.currentTimeMillis();
+        SliceCheckpointer checkpointer = checkpointer(mapping, chunk, checkpoint);
+        boolean restartable = checkpointer != null && chunk.getResumeKey() != null;
+        boolean transactional = !restartable && !isDirectPath(mapping);
+        
+        for (int attempt = 1; ; attempt++) {
+            SliceResult sliceResult = migrateSlice(mapping, plan, chunk, checkpointer, transactional, progress, estimatedRows);
+            if (sliceResult.isSuccess() || progress.isCancelled()) {
+                return sliceResult;
+            }
+            if (!transactional && !restartable) {
+                log.error("Chunk {} of {} failed; its committed batches are kept", chunk.getName(), mapping.getSourceTable());
+                return sliceResult;
+            }
+            if (attempt >= retryMaxAttempts) {
+                log.error("Chunk {} of {} failed after {} attempts", chunk.getName(), mapping.getSourceTable(), attempt);
+                sliceResult.setElapsedMillis(System.currentTimeMillis() - start);
+                return sliceResult;
+            }
+            log.warn("Chunk {} of {} failed on attempt {}/{}, retrying: {}", 
+                chunk.getName(), mapping.getSourceTable(), attempt, retryMaxAttempts, sliceResult.getErrorMessage());
+            if (transactional) {
+                // The attempt was rolled back
+                progress.discard();
+            }
+            try {
+                Thread.sleep(retryDelayMs);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                return SliceResult.failure(chunk.getName(), System.currentTimeMillis() - start, "Interrupted");
+            }
+        }
+    }
+
+    /**
+     * Commit settings on a mapping only apply where batches commit in groups, which
+     * chunks that cannot resume do not: each of them is a single transaction.
+     */
+    private void checkCommitSettings(MigrationMapping mapping, List<Slice> chunks) {
+        if (chunks == null || (checkpointService.isEnabled() && mapping.isResume()) || isDirectPath(mapping)) {
+            return;
+        }
+        if (mapping.getCommitBatches() != null || mapping.getAsyncCommit() != null) {
+            throw new IllegalArgumentException("Mapping " + mapping.getMappingName() + 
+                " sets commitBatches or asyncCommit, but its chunks each commit once unless it resumes from checkpoints");
+        }
+    }
+
+    private SliceCheckpointer checkpointer(MigrationMapping mapping, Slice slice, Checkpoint stored) {
+        return checkpointService.isEnabled() ? new SliceCheckpointer(mapping.getMappingName(), slice.getName(), stored) : null;
+    }
+
     @Override
-    @Transactional
-    public void migrateTable(TableMapping mapping) {
-        log.info("Starting migration for table: {} -> {}", mapping.getSourceTable(), mapping.getTargetTable());
+    public MigrationResult migratePartition(PartitionMapping mapping, MigrationJob job) {
+        log.info("Starting migration for partition: {} -> {}", mapping.getSourceTable(), mapping.getTargetTable());
         
+        TableProgress progress = job.addTable(mapping.getSourceTable(), mapping.getTargetTable());
+        MigrationResult result = new MigrationResult(mapping.getSourceTable(), mapping.getTargetTable());
+        List<String> partitions;
+        List<ColumnInfo> columns;
+        Map<String, Checkpoint> checkpoints;
+        Map<String, Long> partitionEstimates;
+        TablePlan plan = null;
         try {
-            // Get column information with data types
-            List<ColumnInfo> columns = getTableColumns(mapping.getSourceTable());
-            
-            // Build SQL statements
-            String selectSql = buildSelectSql(mapping.getSourceTable(), columns, mapping.getWhereClause());
-            String insertSql = buildInsertSql(mapping.getTargetTable(), columns);
-            
-            // Process in batches
-            int batchSize = mapping.getBatchSize();
-            List<Map<String, Object>> batch = new ArrayList<>();
+            // Get partition and column information once for all workers
+            partitions = getPartitions(mapping.getSourceTable(), mapping.getPartitionKey());
+            columns = metadata.getColumns(mapping.getSourceTable());
+            checkpoints = checkpointService.begin(mapping.getMappingName(), mapping.isResume());
+            partitionEstimates = metadata.getPartitionRows(mapping.getSourceTable());
+            progress.start(metadata.getEstimatedRows(mapping.getSourceTable()));
+        } catch (Exception e) {
+            log.error("Error migrating partition: {} -> {}", mapping.getSourceTable(), mapping.getTargetTable(), e);
+            progress.finish(ProgressState.FAILED);
+            throw new RuntimeException("Migration failed", e);
+        }
+        if (partitions.isEmpty()) {
+            log.info("No partitions found for table: {}", mapping.getSourceTable());
+            progress.finish(ProgressState.COMPLETED);
+            return result;
+        }
+        DirectPathLoad load;
+        try {
+            plan = createPlan(mapping, columns);
+            load = beginLoad(mapping);
+        } catch (Exception e) {
+            log.error("Error migrating partition: {} -> {}", mapping.getSourceTable(), mapping.getTargetTable(), e);
+            progress.finish(ProgressState.FAILED);
+            if (plan != null) {
+                plan.close();
+            }
+            throw new RuntimeException("Migration failed", e);
+        }
+        
+        try (TablePlan tablePlan = plan) {
+            try {
+                copyPartitions(mapping, tablePlan, partitions, checkpoints, partitionEstimates, progress, result);
+            } finally {
+                endLoad(load, progress);
+            }
+            saveWatermark(mapping, tablePlan, progress, result);
+        }
+        
+        log.info("Completed migration for partition: {} -> {} ({} succeeded, {} failed)", 
+            mapping.getSourceTable(), mapping.getTargetTable(), result.getSucceeded(), result.getFailed());
+        return result;
+    }
+
+    private void copyPartitions(PartitionMapping mapping, TablePlan plan, List<String> partitions,
+            Map<String, Checkpoint> checkpoints, Map<String, Long> partitionEstimates, 
+            TableProgress progress, MigrationResult result) {
+        int concurrency = effectiveConcurrency(mapping, partitions.size());
+        log.info("Migrating {} partitions of {} with {} workers", partitions.size(), mapping.getSourceTable(), concurrency);
+        
+        List<Callable<SliceResult>> tasks = new ArrayList<>();
+        for (String partition : partitions) {
+            // Partitions are checkpointed as a whole
+            Slice slice = new Slice(partition, partition, null, List.of(), null);
+            SliceProgress sliceProgress = progress.slice(partition);
+            long estimate = partitionEstimates.getOrDefault(partition, -1L);
+            SliceCheckpointer checkpointer = checkpointer(mapping, slice, checkpoints.get(partition));
+            tasks.add(() -> migrateSlice(mapping, plan, slice, checkpointer, false, sliceProgress, estimate));
+        }
+        result.getSlices().addAll(runParallel("partition-" + mapping.getSourceTable() + "-", concurrency, tasks));
+        finishTable(progress, result);
+    }
+
+    /**
+     * Copies one slice, skipping it when a previous run completed it and continuing
+     * after the last committed key when it was interrupted part way.
+     */
+    private SliceResult migrateSlice(MigrationMapping mapping, TablePlan plan, Slice slice, 
+            SliceCheckpointer checkpointer, boolean transactional, SliceProgress progress, long estimatedRows) {
+        long start = System.currentTimeMillis();
+        Checkpoint checkpoint = checkpointer != null ? checkpointer.getCheckpoint() : null;
+        if (progress.isCancelled()) {
+            progress.finish(ProgressState.CANCELLED);
+            return SliceResult.failure(slice.getName(), 0, "Cancelled");
+        }
+        if (checkpoint != null && checkpoint.isCompleted()) {
+            log.info("Skipping {} of {}: completed by a previous run", slice.getName(), mapping.getSourceTable());
+            progress.finish(ProgressState.COMPLETED);
+            return SliceResult.success(slice.getName(), 0, 0);
+        }
+        
+        String resumeKey = checkpointService.isEnabled() ? slice.getResumeKey() : null;
+        String resumeFrom = checkpoint != null ? checkpoint.getLastKey() : null;
+        if (checkpoint != null && (resumeKey == null || resumeFrom == null)) {
+            if (isUpsert(mapping)) {
+                log.info("Restarting {} of {} from the beginning; rows committed by the previous run are merged again",
+                    slice.getName(), mapping.getSourceTable());
+            } else {
+                log.warn("Restarting {} of {} from the beginning; rows committed by the previous run may be duplicated",
+                    slice.getName(), mapping.getSourceTable());
+            }
+            resumeFrom = null;
+        } else if (resumeFrom != null) {
+            log.info("Resuming {} of {} after {} {}", slice.getName(), mapping.getSourceTable(), resumeKey, resumeFrom);
+        }
+        
+        progress.start(estimatedRows);
+        try {
+            List<Object> params = new ArrayList<>(slice.getParams());
+            String selectSql = buildSelectSql(mapping, plan, slice, resumeKey, resumeFrom, params);
+            // Writers sharing one transaction record no checkpoints; the slice is marked completed once it commits
+            long rowCount = copyRows(selectSql, params, plan, mapping, slice, resumeKey, transactional ? null : checkpointer, 
+                transactional, progress);
+            if (checkpointService.isEnabled()) {
+                checkpointService.markCompleted(mapping.getMappingName(), slice.getName());
+            }
             
-            try (Connection sourceConn = sourceJdbcTemplate.getDataSource().getConnection();
-                 PreparedStatement ps = sourceConn.prepareStatement(selectSql);
-                 ResultSet rs = ps.executeQuery()) {
-                
+            progress.finish(ProgressState.COMPLETED);
+            log.info("Completed {} of {} ({} rows)", slice.getName(), mapping.getSourceTable(), rowCount);
+            return SliceResult.success(slice.getName(), rowCount, System.currentTimeMillis() - start);
+        } catch (CancellationException e) {
+            log.info("Cancelled {} of {}", slice.getName(), mapping.getSourceTable());
+            progress.finish(ProgressState.CANCELLED);
+            return SliceResult.failure(slice.getName(), System.currentTimeMillis() - start, "Cancelled");
+        } catch (Exception e) {
+            log.error("Error migrating {} of {}", slice.getName(), mapping.getSourceTable(), e);
+            progress.finish(ProgressState.FAILED);
+            return SliceResult.failure(slice.getName(), System.currentTimeMillis() - start, e.getMessage());
+        }
+    }
+
+    /**
+     * Picks the column a whole-table copy is read in order of so that it can resume
+     * mid-table: the configured split column or a single-column integer primary key.
+     * Only mappings that resume are read in order; the others are a plain full scan
+     * and are checkpointed as a whole.
+     */
+    private String findResumeKey(TableMapping mapping, List<ColumnInfo> columns) {
+        if (!checkpointService.isEnabled() || !mapping.isResume()) {
+            return null;
+        }
+        try {
+            String keyColumn = mapping.getSplitColumn() != null && !mapping.getSplitColumn().isEmpty()
+                    ? mapping.getSplitColumn()
+                    : getPrimaryKeyColumn(mapping.getSourceTable());
+            return findIntegerColumn(columns, keyColumn).getName();
+        } catch (IllegalArgumentException e) {
+            log.info("No resume key for {}, it will be checkpointed as a whole: {}", mapping.getSourceTable(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Runs at most {@code concurrency} of the tasks at a time and returns their results
+     * in submission order. Tasks are expected to report their own failures.
+     */
+    private <T> List<T> runParallel(String threadPrefix, int concurrency, List<Callable<T>> tasks) {
+        ExecutorService executor = executors.newExecutor(threadPrefix, concurrency);
+        Semaphore slots = new Semaphore(concurrency);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (Callable<T> task : tasks) {
+                futures.add(executor.submit(() -> runInSlot(slots, task)));
+            }
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+            throw new RuntimeException("Migration interrupted", e);
+        } catch (ExecutionException e) {
+            // Workers catch their own failures, so this only happens on an unexpected error
+            throw new RuntimeException("Migration failed", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Runs a slice worker once one of the mapping's slots and a source connection are
+     * free. On platform threads the pool size already keeps the slots from running out.
+     */
+    private <T> T runInSlot(Semaphore slots, Callable<T> task) throws Exception {
+        slots.acquire();
+        try {
+            return executors.withSourceConnection(task);
+        } finally {
+            slots.release();
+        }
+    }
+
+    /**
+     * Caps the requested worker count so that every worker can hold one source
+     * connection (the open cursor) and one target connection per writer thread
+     * without waiting on the Hikari pools.
+     */
+    private int effectiveConcurrency(MigrationMapping mapping, int taskCount) {
+        int requested = mapping.getConcurrency();
+        int poolLimit = Math.min(executors.getSourcePoolSize(), executors.getTargetPoolSize() / writerCount(mapping));
+        int concurrency = Math.max(Math.min(requested, Math.min(poolLimit, taskCount)), 1);
+        if (concurrency < requested) {
+            log.debug("Requested concurrency {} reduced to {} (pool limit {}, tasks {})", 
+                requested, concurrency, poolLimit, taskCount);
+        }
+        return concurrency;
+    }
+
+    TablePlan createPlan(MigrationMapping mapping, List<ColumnInfo> columns) {
+        IncrementalWindow window = openIncrementalWindow(mapping, columns);
+        TablePlan plan = TablePlan.compile(columns, mapping.getColumnMappings(), mapping.getLobMode());
+        if (isUpsert(mapping)) {
+            if (window != null && mapping.getWriteStrategy() == WriteStrategy.DIRECT_PATH) {
+                log.warn("Incremental mapping {} is merged; writeStrategy DIRECT_PATH is ignored", mapping.getMappingName());
+            }
+            plan.setWriteSql(buildMergeSql(mapping.getTargetTable(), plan.getColumns(), getKeyColumns(mapping)));
+        } else {
+            plan.setWriteSql(buildInsertSql(mapping.getTargetTable(), plan.getColumns(), isDirectPath(mapping)));
+        }
+        plan.setIncrementalWindow(window);
+        plan.setBatchSizer(createBatchSizer(mapping, plan));
+        plan.setFailedRecords(new FailedRecordWriter(failedRecordsDir, mapping.getTargetTable(), plan.getColumns(),
+            properties.getOutput().getFailedRecordsMaxFileBytes()));
+        return plan;
+    }
+
+    /**
+     * Streamed LOBs keep a source locator and a target stream open per value until the
+     * batch executes, so LOB-heavy tables are capped at {@code app.migration.lob.batch-rows}
+     * LOB values per batch. In adaptive mode the size is further capped so that one batch
+     * stays within {@code app.migration.batch.max-bytes} by the column metadata estimate.
+     */
+    private BatchSizeController createBatchSizer(MigrationMapping mapping, TablePlan plan) {
+        MigrationProperties.Batch batch = properties.getBatch();
+        int size = mapping.getBatchSize() != null ? mapping.getBatchSize() : batch.getSize();
+        int lobLimit = plan.getLobColumnCount() == 0 
+                ? Integer.MAX_VALUE 
+                : Math.max(properties.getLob().getBatchRows() / plan.getLobColumnCount(), 1);
+        if (!batch.isAdaptive()) {
+            return BatchSizeController.fixed(mapping.getSourceTable(), Math.min(size, lobLimit));
+        }
+        long byteLimit = Math.max(batch.getMaxBytes() / plan.getEstimatedRowBytes(), 1);
+        int maxSize = (int) Math.min(batch.getMaxSize(), Math.min(lobLimit, byteLimit));
+        log.info("Adaptive batch size for {}: start {}, range {}-{} (~{} bytes/row)", 
+            mapping.getSourceTable(), Math.min(size, maxSize), Math.min(batch.getMinSize(), maxSize), maxSize, 
+            plan.getEstimatedRowBytes());
+        return BatchSizeController.adaptive(mapping.getSourceTable(), size, batch.getMinSize(), maxSize, batch.getMaxLatencyMs());
+    }
+
+    /**
+     * Streams the source rows into batches and hands them to a {@link BatchPipeline},
+     * so that reading the next batch overlaps with writing the previous ones.
+     *
+     * <p>A slice that records its resume key is written by one writer. Writers commit
+     * independently, so with several of them a later batch could be committed and
+     * checkpointed before an earlier one, which a resume would then skip. A slice run
+     * in one transaction has one writer as well: the transactions of several writers
+     * cannot commit atomically, and a retry would duplicate the rows of those that did.
+     */
+    private long copyRows(String selectSql, List<Object> params, TablePlan plan, MigrationMapping mapping, 
+            Slice slice, String resumeKey, SliceCheckpointer checkpointer, boolean transactional, SliceProgress progress) 
+            throws SQLException, InterruptedException {
+        BatchSizeController batchSizer = plan.getBatchSizer();
+        String targetTable = mapping.getTargetTable();
+        long rowCount = 0;
+        // Position of the key column in the batch, or of the ROWID or uncopied key appended to the select list
+        int keyColumn = resumeKey != null && !ROWID.equals(resumeKey) ? plan.indexOfCopy(resumeKey) : -1;
+        int trailingKeyIndex = resumeKey != null && keyColumn < 0 ? Math.max(plan.getSelectColumns().size(), 1) + 1 : -1;
+        String trailingKey = null;
+        MigrationMetrics.SliceMetrics sliceMetrics = metrics.forTable(mapping.getSourceTable());
+        
+        int writers = transactional || (checkpointer != null && resumeKey != null) ? 1 : writerCount(mapping);
+        BatchPipeline<RowBatch> pipeline = new BatchPipeline<>(
+            Thread.currentThread().getName(), mapping.getQueueDepth(), writers,
+            () -> new RowBatch(plan.getAccessors(), batchSizer.getMaxSize()),
+            (batch, commits) -> writeBatch(plan, batch, mapping, progress, sliceMetrics, commits),
+            () -> newCommitGroup(mapping, checkpointer), transactional ? targetTransactionTemplate : null, executors);
+        
+        // Without an explicit fetch size the source is read one batch per round trip
+        int fetchSize = mapping.getFetchSize() != null ? mapping.getFetchSize() : properties.getRead().getFetchSize();
+        
+        try (Connection sourceConn = sourceSessions.getConnection();
+             PreparedStatement ps = sourceConn.prepareStatement(selectSql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            int batchSize = batchSizer.getSize();
+            ps.setFetchSize(fetchSize > 0 ? fetchSize : batchSize);
+            applyLobPrefetch(ps, mapping);
+            try (ResultSet rs = ps.executeQuery()) {
+                RowBatch batch = pipeline.acquire();
+                batch.clear();
+                batch.setLimit(batchSize);
+                long fetchStart = System.nanoTime();
                 while (rs.next()) {
-                    Map<String, Object> row = new HashMap<>();
-                    for (ColumnInfo column : columns) {
-                        row.put(column.getName(), getColumnValue(rs, column));
+                    readRow(rs, plan.getAccessors(), batch);
+                    if (trailingKeyIndex > 0) {
+                        trailingKey = rs.getString(trailingKeyIndex);
                     }
-                    batch.add(row);
-                    
-                    if (batch.size() >= batchSize) {
-                        processBatch(insertSql, batch, columns, mapping.getTargetTable());
+                
+                    if (batch.isFull()) {
+                        // The writers own the full batch from here on
+                        batch.setLastKey(lastKey(batch, keyColumn, trailingKey));
+                        long submitStart = System.nanoTime();
+                        sliceMetrics.recordFetch(submitStart - fetchStart, batch.size());
+                        rowCount += batch.size();
+                        progress.addRead(batch.size());
+                        pipeline.submit(batch);
+                        sliceMetrics.recordQueueWait(System.nanoTime() - submitStart);
+                        if (progress.isCancelled()) {
+                            throw new CancellationException("Migration cancelled");
+                        }
+                        batch = pipeline.acquire();
                         batch.clear();
+                        if (batchSizer.getSize() != batchSize) {
+                            batchSize = batchSizer.getSize();
+                            if (fetchSize <= 0) {
+                                rs.setFetchSize(batchSize);
+                            }
+                        }
+                        batch.setLimit(batchSize);
+                        fetchStart = System.nanoTime();
                     }
                 }
-                
+            
                 // Process remaining records
                 if (!batch.isEmpty()) {
-                    processBatch(insertSql, batch, columns, mapping.getTargetTable());
+                    batch.setLastKey(lastKey(batch, keyColumn, trailingKey));
+                    sliceMetrics.recordFetch(System.nanoTime() - fetchStart, batch.size());
+                    rowCount += batch.size();
+                    progress.addRead(batch.size());
+                    pipeline.submit(batch);
                 }
             }
-            
-            log.info("Completed migration for table: {} -> {}", mapping.getSourceTable(), mapping.getTargetTable());
-            
-        } catch (Exception e) {
-            log.error("Error migrating table: {} -> {}", mapping.getSourceTable(), mapping.getTargetTable(), e);
-            throw new RuntimeException("Migration failed", e);
+            pipeline.finish();
+        } catch (SQLException | InterruptedException | RuntimeException e) {
+            // Must be recorded before the writers are released so transactional writers roll back
+            pipeline.fail(e);
+            throw e;
+        } finally {
+            pipeline.close();
+        }
+        return rowCount;
+    }
+
+    private Integer parallelDegree(MigrationMapping mapping) {
+        return mapping.getParallelDegree() != null ? mapping.getParallelDegree() : properties.getRead().getParallelDegree();
+    }
+
+    private void applyLobPrefetch(PreparedStatement ps, MigrationMapping mapping) throws SQLException {
+        Integer lobPrefetchSize = mapping.getLobPrefetchSize() != null 
+                ? mapping.getLobPrefetchSize() 
+                : properties.getRead().getLobPrefetchSize();
+        if (lobPrefetchSize != null && ps.isWrapperFor(OracleStatement.class)) {
+            ps.unwrap(OracleStatement.class).setLobPrefetchSize(lobPrefetchSize);
+        }
+    }
+
+    private static String lastKey(RowBatch batch, int keyColumn, String trailingKey) {
+        if (keyColumn < 0) {
+            return trailingKey;
         }
+        Object value = batch.getValue(keyColumn, batch.size() - 1);
+        return value != null ? value.toString() : null;
+    }
+
+    private static int indexOf(List<ColumnInfo> columns, String name) {
+        for (int c = 0; c < columns.size(); c++) {
+            if (columns.get(c).getName().equalsIgnoreCase(name)) {
+                return c;
+            }
+        }
+        throw new IllegalArgumentException("Column " + name + " not found");
+    }
+
+    /**
+     * Writes a batch in the writer's open target transaction, which records the last
+     * key of its batches as the slice checkpoint when it commits.
+     */
+    void writeBatch(TablePlan plan, RowBatch batch, MigrationMapping mapping, SliceProgress progress, 
+            MigrationMetrics.SliceMetrics sliceMetrics, CommitGroup commits) {
+        long start = System.nanoTime();
+        commits.begin();
+        int written = processBatch(plan, batch, mapping, sliceMetrics);
+        commits.added(written, batch.size() * plan.getEstimatedRowBytes(), batch.getLastKey());
+        plan.getBatchSizer().record(batch.size(), System.nanoTime() - start);
+        progress.addWritten(written);
+    }
+
+    /**
+     * Creates the commit group of one batch writer. A direct-path insert must be
+     * committed before the next one into the same table, so those commit every batch.
+     *
+     * @param checkpointer checkpoint of the slice, or null to commit without checkpoints
+     */
+    CommitGroup newCommitGroup(MigrationMapping mapping, CommitGroup.Checkpointer checkpointer) {
+        MigrationProperties.Commit commit = properties.getCommit();
+        int batches = isDirectPath(mapping) ? 1 
+                : mapping.getCommitBatches() != null ? mapping.getCommitBatches() : commit.getBatches();
+        boolean async = mapping.getAsyncCommit() != null ? mapping.getAsyncCommit() : commit.isAsync();
+        return new CommitGroup(targetTransactionManager, targetJdbcTemplate, batches, commit.getMaxBytes(), async, checkpointer);
     }
 
     @Override
-    @Transactional
-    public void migratePartition(PartitionMapping mapping) {
-        log.info("Starting migration for partition: {} -> {}", mapping.getSourceTable(), mapping.getTargetTable());
+    public List<MigrationResult> migrateAllTables(MigrationJob job) {
+        return schedule(mappingConfig.getTables(), List.of(), job);
+    }
+
+    @Override
+    public List<MigrationResult> migrateAllPartitions(MigrationJob job) {
+        return schedule(List.of(), mappingConfig.getPartitions(), job);
+    }
+
+    @Override
+    public List<MigrationResult> migrateAll(MigrationJob job) {
+        return schedule(mappingConfig.getTables(), mappingConfig.getPartitions(), job);
+    }
+
+    /**
+     * Runs the mappings through a {@link TableScheduler}: parents before children by the
+     * target's foreign keys, and the largest source tables first. The worker budget is
+     * capped by the source pool, since every slice worker holds a source connection.
+     * The dictionary metadata of all mappings is reloaded up front.
+     */
+    private List<MigrationResult> schedule(List<TableMapping> tables, List<PartitionMapping> partitions, MigrationJob job) {
+        List<MigrationMapping> mappings = new ArrayList<>(tables);
+        mappings.addAll(partitions);
+        if (mappings.isEmpty()) {
+            return new ArrayList<>();
+        }
+        metadata.load(mappings);
+        MigrationProperties.Scheduler settings = properties.getScheduler();
+        int maxWorkers = Math.min(settings.getMaxWorkers(), executors.getSourcePoolSize());
+        TableScheduler scheduler = new TableScheduler(executors, settings.getMaxTables(), maxWorkers);
         
-        try {
-            // Get partition information
-            List<String> partitions = getPartitions(mapping.getSourceTable(), mapping.getPartitionKey());
-            
-            for (String partition : partitions) {
-                log.info("Migrating partition: {}", partition);
-                
-                // Get column information with data types
-                List<ColumnInfo> columns = getTableColumns(mapping.getSourceTable());
-                
-                // Build SQL statements with partition
-                String selectSql = buildPartitionSelectSql(mapping.getSourceTable(), columns, 
-                    mapping.getPartitionKey(), partition, mapping.getWhereClause());
-                String insertSql = buildInsertSql(mapping.getTargetTable(), columns);
-                
-                // Process in batches
-                int batchSize = mapping.getBatchSize();
-                List<Map<String, Object>> batch = new ArrayList<>();
-                
-                try (Connection sourceConn = sourceJdbcTemplate.getDataSource().getConnection();
-                     PreparedStatement ps = sourceConn.prepareStatement(selectSql);
-                     ResultSet rs = ps.executeQuery()) {
-                    
-                    while (rs.next()) {
-                        Map<String, Object> row = new HashMap<>();
-                        for (ColumnInfo column : columns) {
-                            row.put(column.getName(), getColumnValue(rs, column));
-                        }
-                        batch.add(row);
-                        
-                        if (batch.size() >= batchSize) {
-                            processBatch(insertSql, batch, columns, mapping.getTargetTable());
-                            batch.clear();
-                        }
-                    }
-                    
-                    // Process remaining records
-                    if (!batch.isEmpty()) {
-                        processBatch(insertSql, batch, columns, mapping.getTargetTable());
-                    }
-                }
+        for (TableMapping table : tables) {
+            scheduler.add(table.getMappingName(), table.getSourceTable(), table.getTargetTable(), 
+                metadata.getEstimatedBytes(table.getSourceTable()), table.getConcurrency(), 
+                () -> migrateTable(table, job));
+        }
+        for (PartitionMapping partition : partitions) {
+            scheduler.add(partition.getMappingName(), partition.getSourceTable(), partition.getTargetTable(), 
+                metadata.getEstimatedBytes(partition.getSourceTable()), partition.getConcurrency(), 
+                () -> migratePartition(partition, job));
+        }
+        for (String targetTable : mappings.stream().map(MigrationMapping::getTargetTable).distinct().collect(Collectors.toList())) {
+            for (String parent : metadata.getReferencedTables(targetTable)) {
+                scheduler.addDependency(targetTable, parent);
             }
-            
-            log.info("Completed migration for partition: {} -> {}", mapping.getSourceTable(), mapping.getTargetTable());
-            
+        }
+        return scheduler.run(job::isCancelRequested);
+    }
+
+    /**
+     * Reads the mapping's source rows, with its column mappings applied, into a snapshot
+     * file named after the mapping. Partition mappings are exported as a whole table. A
+     * file left incomplete by a failed or cancelled export is deleted.
+     */
+    @Override
+    public MigrationResult exportSnapshot(MigrationMapping mapping, MigrationJob job) {
+        Path file = snapshotFile(mapping);
+        log.info("Exporting {} to {}", mapping.getSourceTable(), file);
+        TableProgress progress = job.addTable(mapping.getSourceTable(), mapping.getTargetTable());
+        SliceProgress sliceProgress = progress.slice(file.getFileName().toString());
+        MigrationResult result = new MigrationResult(mapping.getSourceTable(), mapping.getTargetTable());
+        long start = System.currentTimeMillis();
+        progress.start(metadata.getEstimatedRows(mapping.getSourceTable()));
+        sliceProgress.start(progress.getEstimatedRows());
+        try {
+            List<ColumnInfo> columns = metadata.getColumns(mapping.getSourceTable());
+            // LOB locators do not outlive the source cursor, so their values are always materialised
+            TablePlan plan = TablePlan.compile(columns, mapping.getColumnMappings(), LobMode.INLINE);
+            long rowCount = exportRows(mapping, plan, file, sliceProgress);
+            sliceProgress.finish(ProgressState.COMPLETED);
+            result.getSlices().add(SliceResult.success(sliceProgress.getName(), rowCount, System.currentTimeMillis() - start));
+            log.info("Exported {} rows of {} to {}", rowCount, mapping.getSourceTable(), file);
+        } catch (CancellationException e) {
+            log.info("Cancelled export of {}", mapping.getSourceTable());
+            sliceProgress.finish(ProgressState.CANCELLED);
+            result.getSlices().add(SliceResult.failure(sliceProgress.getName(), System.currentTimeMillis() - start, "Cancelled"));
+            deleteSnapshot(file);
         } catch (Exception e) {
-            log.error("Error migrating partition: {} -> {}", mapping.getSourceTable(), mapping.getTargetTable(), e);
-            throw new RuntimeException("Migration failed", e);
+            log.error("Error exporting {} to {}", mapping.getSourceTable(), file, e);
+            sliceProgress.finish(ProgressState.FAILED);
+            result.getSlices().add(SliceResult.failure(sliceProgress.getName(), System.currentTimeMillis() - start, e.getMessage()));
+            deleteSnapshot(file);
         }
+        finishTable(progress, result);
+        return result;
     }
 
+    /**
+     * Writes the rows of a snapshot file to the mapping's target table with its write
+     * strategy. The snapshot's blocks are decoded straight into row batches for the
+     * batch writers; column mappings were applied by the export.
+     */
     @Override
-    public void migrateAllTables() {
-        List<TableMapping> tables = mappingConfig.getTables();
-        for (TableMapping table : tables) {
+    public MigrationResult importSnapshot(MigrationMapping mapping, MigrationJob job) {
+        Path file = snapshotFile(mapping);
+        log.info("Importing {} into {}", file, mapping.getTargetTable());
+        TableProgress progress = job.addTable(mapping.getSourceTable(), mapping.getTargetTable());
+        SliceProgress sliceProgress = progress.slice(file.getFileName().toString());
+        MigrationResult result = new MigrationResult(mapping.getSourceTable(), mapping.getTargetTable());
+        long start = System.currentTimeMillis();
+        progress.start(-1);
+        sliceProgress.start(-1);
+        try (SnapshotReader reader = new SnapshotReader(file);
+             TablePlan plan = createImportPlan(mapping, reader)) {
+            DirectPathLoad load = beginLoad(mapping);
+            long rowCount;
             try {
-                migrateTable(table);
-            } catch (Exception e) {
-                log.error("Failed to migrate table: {} -> {}", table.getSourceTable(), table.getTargetTable(), e);
-                // Continue with next table
+                rowCount = importRows(mapping, plan, reader, sliceProgress);
+            } finally {
+                endLoad(load, progress);
             }
+            sliceProgress.finish(ProgressState.COMPLETED);
+            result.getSlices().add(SliceResult.success(sliceProgress.getName(), rowCount, System.currentTimeMillis() - start));
+            log.info("Imported {} rows from {} into {}", rowCount, file, mapping.getTargetTable());
+        } catch (CancellationException e) {
+            log.info("Cancelled import of {}", file);
+            sliceProgress.finish(ProgressState.CANCELLED);
+            result.getSlices().add(SliceResult.failure(sliceProgress.getName(), System.currentTimeMillis() - start, "Cancelled"));
+        } catch (Exception e) {
+            log.error("Error importing {} into {}", file, mapping.getTargetTable(), e);
+            sliceProgress.finish(ProgressState.FAILED);
+            result.getSlices().add(SliceResult.failure(sliceProgress.getName(), System.currentTimeMillis() - start, e.getMessage()));
         }
+        finishTable(progress, result);
+        return result;
     }
 
-    @Override
-    public void migrateAllPartitions() {
-        List<PartitionMapping> partitions = mappingConfig.getPartitions();
-        for (PartitionMapping partition : partitions) {
-            try {
-                migratePartition(partition);
-            } catch (Exception e) {
-                log.error("Failed to migrate partition: {} -> {}", 
-                    partition.getSourceTable(), partition.getTargetTable(), e);
-                // Continue with next partition
+    private long exportRows(MigrationMapping mapping, TablePlan plan, Path file, SliceProgress progress)
+            throws IOException, SQLException {
+        int batchSize = mapping.getBatchSize() != null ? mapping.getBatchSize() : properties.getBatch().getSize();
+        int fetchSize = mapping.getFetchSize() != null ? mapping.getFetchSize() : properties.getRead().getFetchSize();
+        List<Object> params = new ArrayList<>();
+        Slice table = new Slice(mapping.getSourceTable(), null, null, List.of(), null);
+        String selectSql = buildSelectSql(mapping, plan, table, null, null, params);
+        RowBatch batch = new RowBatch(plan.getAccessors(), batchSize);
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        
+        try (SnapshotWriter writer = new SnapshotWriter(file, plan.getAccessors(), properties.getSnapshot().getCompression(), batchSize);
+             Connection sourceConn = sourceSessions.getConnection();
+             PreparedStatement ps = sourceConn.prepareStatement(selectSql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            ps.setFetchSize(fetchSize > 0 ? fetchSize : batchSize);
+            applyLobPrefetch(ps, mapping);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    readRow(rs, plan.getAccessors(), batch);
+                    if (batch.isFull()) {
+                        writeSnapshotBlock(writer, batch, progress);
+                    }
+                }
             }
+            writeSnapshotBlock(writer, batch, progress);
+            writer.finish();
+            return writer.getRowCount();
         }
     }
 
-    @Override
-    public void migrateAll() {
-        migrateAllTables();
-        migrateAllPartitions();
+    private static void writeSnapshotBlock(SnapshotWriter writer, RowBatch batch, SliceProgress progress)
+            throws IOException, SQLException {
+        writer.write(batch);
+        progress.addRead(batch.size());
+        progress.addWritten(batch.size());
+        batch.clear();
+        if (progress.isCancelled()) {
+            throw new CancellationException("Export cancelled");
+        }
     }
 
-    private List<ColumnInfo> getTableColumns(String tableName) {
-        String sql = "SELECT column_name, data_type, data_length, data_precision, data_scale " +
-                    "FROM all_tab_columns WHERE table_name = ? ORDER BY column_id";
-        return sourceJdbcTemplate.query(sql, (rs, rowNum) -> {
-            ColumnInfo column = new ColumnInfo();
-            column.setName(rs.getString("column_name"));
-            column.setDataType(rs.getString("data_type"));
-            column.setLength(rs.getInt("data_length"));
-            column.setPrecision(rs.getInt("data_precision"));
-            column.setScale(rs.getInt("data_scale"));
-            return column;
-        }, tableName);
+    private TablePlan createImportPlan(MigrationMapping mapping, SnapshotReader reader) {
+        TablePlan plan = new TablePlan(reader.getAccessors());
+        if (isUpsert(mapping)) {
+            plan.setWriteSql(buildMergeSql(mapping.getTargetTable(), plan.getColumns(), getKeyColumns(mapping)));
+        } else {
+            plan.setWriteSql(buildInsertSql(mapping.getTargetTable(), plan.getColumns(), isDirectPath(mapping)));
+        }
+        plan.setBatchSizer(BatchSizeController.fixed(mapping.getSourceTable(), reader.getBlockRows()));
+        plan.setFailedRecords(new FailedRecordWriter(failedRecordsDir, mapping.getTargetTable(), plan.getColumns(),
+            properties.getOutput().getFailedRecordsMaxFileBytes()));
+        return plan;
+    }
+
+    /**
+     * Decodes the snapshot block by block into batches of a {@link BatchPipeline}, so
+     * that mapping and decoding the next block overlaps with writing the previous ones.
+     */
+    private long importRows(MigrationMapping mapping, TablePlan plan, SnapshotReader reader, SliceProgress progress)
+            throws IOException, InterruptedException {
+        MigrationMetrics.SliceMetrics sliceMetrics = metrics.forTable(mapping.getSourceTable());
+        BatchPipeline<RowBatch> pipeline = new BatchPipeline<>(
+            Thread.currentThread().getName(), mapping.getQueueDepth(), writerCount(mapping),
+            () -> new RowBatch(plan.getAccessors(), reader.getBlockRows()),
+            (batch, commits) -> writeBatch(plan, batch, mapping, progress, sliceMetrics, commits),
+            () -> newCommitGroup(mapping, null), null, executors);
+        long rowCount = 0;
+        try {
+            while (true) {
+                RowBatch batch = pipeline.acquire();
+                long fetchStart = System.nanoTime();
+                if (!reader.read(batch)) {
+                    break;
+                }
+                sliceMetrics.recordFetch(System.nanoTime() - fetchStart, batch.size());
+                rowCount += batch.size();
+                progress.addRead(batch.size());
+                pipeline.submit(batch);
+                if (progress.isCancelled()) {
+                    throw new CancellationException("Import cancelled");
+                }
+            }
+            pipeline.finish();
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            pipeline.fail(e);
+            throw e;
+        } finally {
+            pipeline.close();
+        }
+        return rowCount;
+    }
+
+    /**
+     * Snapshot file of a mapping, named {@code SOURCE__TARGET.snap}: the {@code ->} of the
+     * mapping name is not allowed in Windows file names and needs quoting in a shell.
+     */
+    private Path snapshotFile(MigrationMapping mapping) {
+        String name = mapping.getSourceTable() + "__" + mapping.getTargetTable() + ".snap";
+        return Paths.get(properties.getSnapshot().getDirectory(), name);
+    }
+
+    private static void deleteSnapshot(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete incomplete snapshot {}", file, e);
+        }
     }
 
     private List<String> getPartitions(String tableName, String partitionKey) {
-        String sql = "SELECT partition_name FROM all_tab_partitions WHERE table_name = ? AND partition_key_column LIKE ?";
-        return sourceJdbcTemplate.queryForList(sql, String.class, tableName, "%" + partitionKey + "%");
+        List<String> keyColumns = metadata.getPartitionKeyColumns(tableName);
+        for (String column : partitionKey.split(",")) {
+            if (keyColumns.stream().noneMatch(column.trim()::equalsIgnoreCase)) {
+                throw new IllegalArgumentException("Table " + tableName + " is not partitioned by " + column.trim() + 
+                    (keyColumns.isEmpty() ? "" : "; its partition key is " + String.join(", ", keyColumns)));
+            }
+        }
+        return metadata.getPartitions(tableName);
     }
 
-    private String buildSelectSql(String tableName, List<ColumnInfo> columns, String whereClause) {
+    /**
+     * Divides the table into key ranges according to the mapping's split strategy,
+     * or returns {@code null} when the table should be read with a single cursor.
+     */
+    private List<Slice> splitTable(TableMapping mapping, List<ColumnInfo> columns) {
+        switch (mapping.getSplitStrategy()) {
+            case ROWID:
+                return splitByRowid(mapping);
+            case PRIMARY_KEY:
+                return splitByKey(mapping, columns);
+            default:
+                return null;
+        }
+    }
+
+    private List<Slice> splitByRowid(TableMapping mapping) {
+        // NTILE over the ROWIDs gives ranges of equal row count without needing DBMS_PARALLEL_EXECUTE privileges
+        StringBuilder sql = new StringBuilder("SELECT ROWIDTOCHAR(MIN(rid)), ROWIDTOCHAR(MAX(rid)) FROM (");
+        sql.append("SELECT ROWID rid, NTILE(?) OVER (ORDER BY ROWID) chunk FROM ").append(mapping.getSourceTable());
+        appendWhere(sql, mapping.getWhereClause());
+        sql.append(") GROUP BY chunk ORDER BY chunk");
+        
+        List<Slice> chunks = new ArrayList<>();
+        sourceJdbcTemplate.query(sql.toString(), rs -> {
+            String from = rs.getString(1);
+            String to = rs.getString(2);
+            chunks.add(new Slice(
+                String.format("rowid[%s..%s]", from, to),
+                null,
+                "ROWID BETWEEN CHARTOROWID(?) AND CHARTOROWID(?)",
+                List.of(from, to),
+                mapping.isResume() ? ROWID : null));
+        }, mapping.getChunkCount());
+        return chunks;
+    }
+
+    private List<Slice> splitByKey(TableMapping mapping, List<ColumnInfo> columns) {
+        String keyColumn = mapping.getSplitColumn() != null && !mapping.getSplitColumn().isEmpty()
+                ? mapping.getSplitColumn()
+                : getPrimaryKeyColumn(mapping.getSourceTable());
+        ColumnInfo key = findIntegerColumn(columns, keyColumn);
+        
+        StringBuilder sql = new StringBuilder("SELECT MIN(").append(key.getName()).append("), MAX(")
+                .append(key.getName()).append(") FROM ").append(mapping.getSourceTable());
+        appendWhere(sql, mapping.getWhereClause());
+        
+        List<Slice> chunks = new ArrayList<>();
+        sourceJdbcTemplate.query(sql.toString(), rs -> {
+            long min = rs.getLong(1);
+            if (rs.wasNull()) {
+                return;
+            }
+            long max = rs.getLong(2);
+            long width = Math.max((max - min) / mapping.getChunkCount() + 1, 1);
+            for (long from = min; from <= max; from += width) {
+                long to = Math.min(from + width - 1, max);
+                chunks.add(new Slice(
+                    String.format("%s[%d..%d]", key.getName(), from, to),
+                    null,
+                    key.getName() + " BETWEEN ? AND ?",
+                    List.of(from, to),
+                    mapping.isResume() ? key.getName() : null));
+                if (to == max) {
+                    break;
+                }
+            }
+        });
+        return chunks;
+    }
+
+    private static ColumnInfo findIntegerColumn(List<ColumnInfo> columns, String name) {
+        ColumnInfo column = columns.stream()
+                .filter(c -> c.getName().equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Key column " + name + " not found"));
+        if (!"NUMBER".equals(column.getDataType()) || column.getScale() > 0) {
+            throw new IllegalArgumentException("Key column " + name + " must be an integer NUMBER column");
+        }
+        return column;
+    }
+
+    private List<String> getKeyColumns(MigrationMapping mapping) {
+        if (mapping.getKeyColumns() != null && !mapping.getKeyColumns().isEmpty()) {
+            return mapping.getKeyColumns();
+        }
+        String targetTable = mapping.getTargetTable();
+        List<String> keyColumns = metadata.getTargetPrimaryKey(targetTable);
+        if (keyColumns.isEmpty()) {
+            throw new IllegalArgumentException("Target table " + targetTable + 
+                " needs a primary key or explicit keyColumns to be merged into");
+        }
+        return keyColumns;
+    }
+
+    private String getPrimaryKeyColumn(String tableName) {
+        List<String> keyColumns = metadata.getPrimaryKey(tableName);
+        if (keyColumns.size() != 1) {
+            throw new IllegalArgumentException("Table " + tableName + 
+                " needs a single-column primary key or an explicit splitColumn for PRIMARY_KEY splitting");
+        }
+        return keyColumns.get(0);
+    }
+
+    /**
+     * Builds the source query for a slice. When the slice has a resume key, which only
+     * slices of mappings that resume have, the rows are read in key order (with the key
+     * appended to the select list for ROWID keys and for keys not copied unchanged to
+     * the target), and {@code resumeFrom} restricts the read to rows after the last
+     * checkpointed key.
+     */
+    private String buildSelectSql(MigrationMapping mapping, TablePlan plan, Slice slice,
+            String resumeKey, String resumeFrom, List<Object> params) {
+        List<String> columns = plan.getSelectColumns();
+        IncrementalWindow window = plan.getIncrementalWindow();
+        String whereClause = mapping.getWhereClause();
+        Integer parallelDegree = parallelDegree(mapping);
         StringBuilder sql = new StringBuilder("SELECT ");
-        sql.append(String.join(", ", columns.stream().map(ColumnInfo::getName).collect(Collectors.toList())));
-        sql.append(" FROM ").append(tableName);
+        if (parallelDegree != null) {
+            sql.append("/*+ PARALLEL(").append(parallelDegree).append(") */ ");
+        }
+        // A mapping of constants only reads nothing but still needs a row per source row
+        sql.append(columns.isEmpty() ? "NULL" : String.join(", ", columns));
+        if (ROWID.equals(resumeKey)) {
+            sql.append(", ROWIDTOCHAR(ROWID)");
+        } else if (resumeKey != null && plan.indexOfCopy(resumeKey) < 0) {
+            sql.append(", ").append(resumeKey);
+        }
+        sql.append(" FROM ").append(mapping.getSourceTable());
+        if (slice.getPartition() != null) {
+            sql.append(" PARTITION(").append(slice.getPartition()).append(")");
+        }
+        if (window != null) {
+            sql.append(window.getFlashbackClause());
+        }
         
+        List<String> predicates = new ArrayList<>();
+        if (slice.getPredicate() != null) {
+            predicates.add(slice.getPredicate());
+        }
         if (whereClause != null && !whereClause.isEmpty()) {
-            sql.append(" WHERE ").append(whereClause);
+            predicates.add("(" + whereClause + ")");
+        }
+        if (window != null) {
+            window.appendPredicate(predicates, params);
+        }
+        if (resumeFrom != null) {
+            if (ROWID.equals(resumeKey)) {
+                predicates.add("ROWID > CHARTOROWID(?)");
+                params.add(resumeFrom);
+            } else {
+                predicates.add(resumeKey + " > ?");
+                params.add(Long.parseLong(resumeFrom));
+            }
+        }
+        if (!predicates.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", predicates));
+        }
+        if (resumeKey != null) {
+            sql.append(" ORDER BY ").append(resumeKey);
         }
         
         return sql.toString();
     }
 
-    private String buildPartitionSelectSql(String tableName, List<ColumnInfo> columns, 
-            String partitionKey, String partition, String whereClause) {
-        StringBuilder sql = new StringBuilder("SELECT ");
-        sql.append(String.join(", ", columns.stream().map(ColumnInfo::getName).collect(Collectors.toList())));
-        sql.append(" FROM ").append(tableName);
-        sql.append(" PARTITION(").append(partition).append(")");
-        
+    private static void appendWhere(StringBuilder sql, String whereClause) {
         if (whereClause != null && !whereClause.isEmpty()) {
             sql.append(" WHERE ").append(whereClause);
         }
-        
-        return sql.toString();
     }
 
-    private String buildInsertSql(String tableName, List<ColumnInfo> columns) {
-        StringBuilder sql = new StringBuilder("INSERT INTO ");
+    static String buildInsertSql(String tableName, List<ColumnInfo> columns, boolean directPath) {
+        StringBuilder sql = new StringBuilder(directPath ? "INSERT /*+ APPEND_VALUES */ INTO " : "INSERT INTO ");
         sql.append(tableName);
         sql.append(" (").append(String.join(", ", columns.stream().map(ColumnInfo::getName).collect(Collectors.toList()))).append(") ");
         sql.append("VALUES (");
@@ -276,122 +1207,229 @@ public class MigrationServiceImpl implements MigrationService {
         return sql.toString();
     }
 
-    private Object getColumnValue(ResultSet rs, ColumnInfo column) throws SQLException {
-        String dataType = column.getDataType();
-        String columnName = column.getName();
+    /**
+     * Builds a MERGE that binds the batch columns in order, matches on the
+     * target's key columns and updates every other column.
+     */
+    private String buildMergeSql(String tableName, List<ColumnInfo> columns, List<String> keyColumns) {
+        List<String> names = columns.stream().map(ColumnInfo::getName).collect(Collectors.toList());
+        for (String key : keyColumns) {
+            if (names.stream().noneMatch(key::equalsIgnoreCase)) {
+                throw new IllegalArgumentException("Key column " + key + " of " + tableName + " is not among the columns written");
+            }
+        }
+        List<String> updated = names.stream()
+                .filter(name -> keyColumns.stream().noneMatch(name::equalsIgnoreCase))
+                .collect(Collectors.toList());
         
-        switch (dataType) {
-            case "NUMBER":
-                if (column.getScale() > 0) {
-                    return rs.getBigDecimal(columnName);
-                } else {
-                    return rs.getLong(columnName);
-                }
-            case "VARCHAR2":
-                return rs.getString(columnName);
-            case "TIMESTAMP(6)":
-                return rs.getTimestamp(columnName);
-            case "DATE":
-                return rs.getDate(columnName);
-            case "BLOB":
-                Blob blob = rs.getBlob(columnName);
-                return blob != null ? blob.getBytes(1, (int) blob.length()) : null;
-            case "CLOB":
-                Clob clob = rs.getClob(columnName);
-                return clob != null ? clob.getSubString(1, (int) clob.length()) : null;
-            default:
-                return rs.getObject(columnName);
+        StringBuilder sql = new StringBuilder("MERGE INTO ").append(tableName).append(" t USING (SELECT ");
+        sql.append(names.stream().map(name -> "? " + name).collect(Collectors.joining(", ")));
+        sql.append(" FROM dual) s ON (");
+        sql.append(keyColumns.stream().map(key -> "t." + key + " = s." + key).collect(Collectors.joining(" AND ")));
+        sql.append(")");
+        if (!updated.isEmpty()) {
+            sql.append(" WHEN MATCHED THEN UPDATE SET ");
+            sql.append(updated.stream().map(name -> "t." + name + " = s." + name).collect(Collectors.joining(", ")));
         }
+        sql.append(" WHEN NOT MATCHED THEN INSERT (").append(String.join(", ", names)).append(") VALUES (");
+        sql.append(names.stream().map(name -> "s." + name).collect(Collectors.joining(", "))).append(")");
+        return sql.toString();
     }
 
-    private void processBatch(String insertSql, List<Map<String, Object>> batch, List<ColumnInfo> columns, String tableName) {
-        String failedRecordsFile = getFailedRecordsFileName(tableName);
+    static void readRow(ResultSet rs, ColumnAccessor[] accessors, RowBatch batch) throws SQLException {
+        int row = batch.addRow();
+        for (ColumnAccessor accessor : accessors) {
+            accessor.read(rs, batch, row);
+        }
+    }
+
+    /**
+     * Writes a batch and returns the number of rows the target accepted. Each attempt runs
+     * in a nested transaction, so a failed attempt is rolled back to a savepoint without
+     * touching the checkpoint or the other batches of the enclosing transaction.
+     */
+    private int processBatch(TablePlan plan, RowBatch batch, MigrationMapping mapping, MigrationMetrics.SliceMetrics sliceMetrics) {
+        FailedRecordWriter failedRecords = plan.getFailedRecords();
+        boolean isolate = mapping.getErrorMode() == ErrorMode.ISOLATE && !isDirectPath(mapping);
+        long[] bindNanos = new long[1];
         
-        targetJdbcTemplate.batchUpdate(insertSql, batch, batch.size(), (ps, row) -> {
-            try {
-                int i = 1;
-                for (ColumnInfo column : columns) {
-                    Object value = row.get(column.getName());
-                    if (value == null) {
-                        ps.setNull(i++, getSqlType(column.getDataType()));
-                    } else {
-                        setParameterValue(ps, i++, value, column);
-                    }
+        try {
+            long start = System.nanoTime();
+            int written;
+            if (isDirectPath(mapping)) {
+                // A direct-path insert cannot be rolled back to a savepoint and repeated
+                executeRange(plan, batch, 0, batch.size(), failedRecords, bindNanos);
+                written = batch.size();
+            } else {
+                written = writeRange(plan, batch, 0, batch.size(), isolate, bindNanos, sliceMetrics);
+            }
+            sliceMetrics.recordWrite(bindNanos[0], System.nanoTime() - start - bindNanos[0], batch.size(), written);
+            return written;
+        } catch (RuntimeException e) {
+            sliceMetrics.recordFailed(batch.size());
+            throw e;
+        } finally {
+            // Release streamed source LOB locators held by this batch
+            for (ColumnAccessor accessor : plan.getLobAccessors()) {
+                for (int row = 0; row < batch.size(); row++) {
+                    accessor.release(batch, row);
                 }
-            } catch (SQLException e) {
-                logFailedRecord(failedRecordsFile, row, e.getMessage());
-                throw new RuntimeException("Failed to set parameter values", e);
             }
-        });
+        }
     }
 
-    private int getSqlType(String dataType) {
-        switch (dataType) {
-            case "NUMBER":
-                return Types.NUMERIC;
-            case "VARCHAR2":
-                return Types.VARCHAR;
-            case "TIMESTAMP(6)":
-                return Types.TIMESTAMP;
-            case "DATE":
-                return Types.DATE;
-            case "BLOB":
-                return Types.BLOB;
-            case "CLOB":
-                return Types.CLOB;
-            default:
-                return Types.OTHER;
+    /**
+     * Writes rows {@code [from, to)}. When isolating, a range the target rejects is split in
+     * halves until the offending rows are found on their own, so a batch with k bad rows
+     * costs about k log(n) extra statements and every good row is still written.
+     */
+    private int writeRange(TablePlan plan, RowBatch batch, int from, int to, boolean isolate, 
+            long[] bindNanos, MigrationMetrics.SliceMetrics sliceMetrics) {
+        try {
+            executeWithRetry(plan, batch, from, to, isolate ? null : plan.getFailedRecords(), bindNanos);
+            return to - from;
+        } catch (DataAccessException e) {
+            if (!isolate || !isRowLevel(e)) {
+                throw e;
+            }
+            if (to - from == 1) {
+                String message = e.getMostSpecificCause().getMessage();
+                log.debug("Row rejected by {}: {}", plan.getWriteSql(), message);
+                plan.getFailedRecords().write(batch, from, message);
+                sliceMetrics.recordFailed(1);
+                return 0;
+            }
+            int mid = (from + to) >>> 1;
+            return writeRange(plan, batch, from, mid, true, bindNanos, sliceMetrics)
+                    + writeRange(plan, batch, mid, to, true, bindNanos, sliceMetrics);
         }
     }
 
-    private void setParameterValue(PreparedStatement ps, int index, Object value, ColumnInfo column) throws SQLException {
-        String dataType = column.getDataType();
-        
-        switch (dataType) {
-            case "NUMBER":
-                if (value instanceof Number) {
-                    ps.setObject(index, value);
-                } else {
-                    ps.setNull(index, Types.NUMERIC);
+    /**
+     * Repeats a range that failed with a transient error, such as a deadlock or a lock
+     * timeout, up to {@code app.migration.retry.max-attempts} times. A lost connection
+     * is not retried here: the writer's session is bound to its thread for the whole
+     * slice, so the slice fails instead and a chunk retry or a resumed run continues
+     * from the checkpoint on a new connection.
+     */
+    private void executeWithRetry(TablePlan plan, RowBatch batch, int from, int to, 
+            FailedRecordWriter failedRecords, long[] bindNanos) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                nestedTransactionTemplate.executeWithoutResult(
+                    status -> executeRange(plan, batch, from, to, failedRecords, bindNanos));
+                return;
+            } catch (TransientDataAccessException e) {
+                if (attempt >= retryMaxAttempts) {
+                    throw e;
                 }
-                break;
-            case "VARCHAR2":
-                ps.setString(index, (String) value);
-                break;
-            case "TIMESTAMP(6)":
-                ps.setTimestamp(index, (Timestamp) value);
-                break;
-            case "DATE":
-                ps.setDate(index, (Date) value);
-                break;
-            case "BLOB":
-                byte[] blobData = (byte[]) value;
-                if (blobData != null) {
-                    ps.setBytes(index, blobData);
-                } else {
-                    ps.setNull(index, Types.BLOB);
+                log.warn("Transient error writing {} rows on attempt {}/{}, retrying: {}", 
+                    to - from, attempt, retryMaxAttempts, e.getMostSpecificCause().getMessage());
+                try {
+                    Thread.sleep(retryDelayMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
                 }
-                break;
-            case "CLOB":
-                String clobData = (String) value;
-                if (clobData != null) {
-                    ps.setString(index, clobData);
-                } else {
-                    ps.setNull(index, Types.CLOB);
+            }
+        }
+    }
+
+    /**
+     * Errors caused by the values of some rows rather than by the statement, the
+     * connection or the target being unavailable.
+     */
+    private static boolean isRowLevel(DataAccessException e) {
+        return !(e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof BadSqlGrammarException);
+    }
+
+    /**
+     * Sends rows {@code [from, to)} as one JDBC batch. Rows that fail to bind are logged to
+     * {@code failedRecords} when one is given.
+     */
+    private void executeRange(TablePlan plan, RowBatch batch, int from, int to, 
+            FailedRecordWriter failedRecords, long[] bindNanos) {
+        ColumnAccessor[] accessors = plan.getAccessors();
+        targetJdbcTemplate.batchUpdate(plan.getWriteSql(), new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                int row = from + i;
+                long bindStart = System.nanoTime();
+                try {
+                    for (ColumnAccessor accessor : accessors) {
+                        accessor.bind(ps, batch, row);
+                    }
+                    bindNanos[0] += System.nanoTime() - bindStart;
+                } catch (SQLException e) {
+                    if (failedRecords != null) {
+                        failedRecords.write(batch, row, e.getMessage());
+                    }
+                    throw e;
                 }
-                break;
-            default:
-                ps.setObject(index, value);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return to - from;
+            }
+        });
+    }
+
+    /**
+     * Records a slice's checkpoint with every commit of its writers and keeps the
+     * position they have committed, which a retry of the slice resumes from.
+     */
+    private final class SliceCheckpointer implements CommitGroup.Checkpointer {
+        private final String mappingName;
+        private final String sliceName;
+        private Checkpoint committed;
+
+        SliceCheckpointer(String mappingName, String sliceName, Checkpoint stored) {
+            this.mappingName = mappingName;
+            this.sliceName = sliceName;
+            this.committed = stored;
+        }
+
+        /**
+         * The stored checkpoint updated by the commits of this run, or null if neither exists.
+         */
+        synchronized Checkpoint getCheckpoint() {
+            return committed;
+        }
+
+        @Override
+        public void record(String lastKey, long rows) {
+            checkpointService.recordBatch(mappingName, sliceName, lastKey, rows);
+        }
+
+        @Override
+        public synchronized void committed(String lastKey, long rows) {
+            Checkpoint checkpoint = new Checkpoint();
+            checkpoint.setMappingName(mappingName);
+            checkpoint.setSliceName(sliceName);
+            checkpoint.setStatus(Checkpoint.Status.IN_PROGRESS);
+            checkpoint.setLastKey(lastKey != null ? lastKey : committed != null ? committed.getLastKey() : null);
+            checkpoint.setRowCount((committed != null ? committed.getRowCount() : 0) + rows);
+            committed = checkpoint;
         }
     }
 
+    /**
+     * Independently migrated piece of a mapping: a whole table, a partition or a key range.
+     */
     @Getter
-    @Setter
-    private static class ColumnInfo {
-        private String name;
-        private String dataType;
-        private int length;
-        private int precision;
-        private int scale;
+    @AllArgsConstructor
+    private static class Slice {
+        private final String name;
+        /** Partition read through a PARTITION clause, or null. */
+        private final String partition;
+        /** Range predicate with bind markers, or null for the whole table or partition. */
+        private final String predicate;
+        private final List<Object> params;
+        /** Integer column or {@link #ROWID} the slice can resume after, or null. */
+        private final String resumeKey;
     }
 } 
\ No newline at end of file
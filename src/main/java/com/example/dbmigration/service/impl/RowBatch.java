@@ -0,0 +1,203 @@
+package com.example.dbmigration.service.impl;
+
+import com.example.dbmigration.model.ColumnInfo;
+
+import java.util.Arrays;
+
+/**
+ * Column-oriented, reusable batch of source rows. Integer NUMBER and binary
+ * floating point columns are held in primitive arrays so that reading and
+ * binding them never boxes; every other type is held by reference. Values are
+ * addressed by column index and row index, never by column name.
+ */
+class RowBatch {
+
+    enum Kind {
+        LONG, DOUBLE, OBJECT;
+
+        static Kind of(ColumnInfo column) {
+            switch (column.getDataType()) {
+                case "NUMBER":
+                    return column.getScale() > 0 ? OBJECT : LONG;
+                case "BINARY_DOUBLE":
+                case "BINARY_FLOAT":
+                    return DOUBLE;
+                default:
+                    return OBJECT;
+            }
+        }
+    }
+
+    private final ColumnInfo[] columns;
+    private final Kind[] kinds;
+    private final long[][] longs;
+    private final double[][] doubles;
+    private final Object[][] objects;
+    /** Lengths of the LOBs of columns that hold source locators, read once with the locator. */
+    private final long[][] lengths;
+    private final boolean[][] nulls;
+    private final int capacity;
+    /** Rows at which the batch counts as full; at most {@link #capacity}. */
+    private int limit;
+    private int size;
+    /** Resume key of the last row, recorded with the batch when checkpointing. */
+    private String lastKey;
+
+    RowBatch(ColumnAccessor[] accessors, int capacity) {
+        int count = accessors.length;
+        this.columns = new ColumnInfo[count];
+        this.kinds = new Kind[count];
+        this.longs = new long[count][];
+        this.doubles = new double[count][];
+        this.objects = new Object[count][];
+        this.lengths = new long[count][];
+        this.nulls = new boolean[count][capacity];
+        this.capacity = capacity;
+        this.limit = capacity;
+        for (int c = 0; c < count; c++) {
+            columns[c] = accessors[c].getInfo();
+            kinds[c] = accessors[c].getKind();
+            switch (kinds[c]) {
+                case LONG:
+                    longs[c] = new long[capacity];
+                    break;
+                case DOUBLE:
+                    doubles[c] = new double[capacity];
+                    break;
+                default:
+                    objects[c] = new Object[capacity];
+            }
+            if (accessors[c].holdsLocator()) {
+                lengths[c] = new long[capacity];
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int columnCount() {
+        return columns.length;
+    }
+
+    boolean isFull() {
+        return size >= limit;
+    }
+
+    /**
+     * Lowers the number of rows the batch is filled to without reallocating it, so the
+     * batch size can change between batches of a running slice.
+     */
+    void setLimit(int limit) {
+        this.limit = Math.max(Math.min(limit, capacity), 1);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    ColumnInfo getColumn(int column) {
+        return columns[column];
+    }
+
+    Kind getKind(int column) {
+        return kinds[column];
+    }
+
+    /**
+     * Reserves the next row and returns its index.
+     */
+    int addRow() {
+        return size++;
+    }
+
+    /**
+     * Empties the batch for reuse. Object references are released so that large
+     * values from the previous batch can be collected.
+     */
+    void clear() {
+        for (Object[] values : objects) {
+            if (values != null) {
+                Arrays.fill(values, 0, size, null);
+            }
+        }
+        size = 0;
+        lastKey = null;
+    }
+
+    String getLastKey() {
+        return lastKey;
+    }
+
+    void setLastKey(String lastKey) {
+        this.lastKey = lastKey;
+    }
+
+    void setLong(int column, int row, long value) {
+        longs[column][row] = value;
+        nulls[column][row] = false;
+    }
+
+    void setDouble(int column, int row, double value) {
+        doubles[column][row] = value;
+        nulls[column][row] = false;
+    }
+
+    void setObject(int column, int row, Object value) {
+        objects[column][row] = value;
+        nulls[column][row] = value == null;
+    }
+
+    /**
+     * Stores a source locator together with the length of its LOB.
+     */
+    void setLocator(int column, int row, Object locator, long length) {
+        setObject(column, row, locator);
+        lengths[column][row] = length;
+    }
+
+    long getLength(int column, int row) {
+        return lengths[column][row];
+    }
+
+    void setNull(int column, int row) {
+        if (objects[column] != null) {
+            objects[column][row] = null;
+        }
+        nulls[column][row] = true;
+    }
+
+    boolean isNull(int column, int row) {
+        return nulls[column][row];
+    }
+
+    long getLong(int column, int row) {
+        return longs[column][row];
+    }
+
+    double getDouble(int column, int row) {
+        return doubles[column][row];
+    }
+
+    Object getObject(int column, int row) {
+        return objects[column][row];
+    }
+
+    /**
+     * Boxed view of a single value, for diagnostics only.
+     */
+    Object getValue(int column, int row) {
+        if (nulls[column][row]) {
+            return null;
+        }
+        switch (kinds[column]) {
+            case LONG:
+                return longs[column][row];
+            case DOUBLE:
+                return doubles[column][row];
+            default:
+                return objects[column][row];
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.dbmigration.service.impl;
+
+import com.example.dbmigration.model.ColumnInfo;
+import com.example.dbmigration.model.LobMode;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * How the values of one column are laid out in the blocks of a snapshot file. Fixed
+ * width values are written back to back; all others are length-prefixed. Nulls are
+ * only recorded in the block's null bitmap and take no space among the values.
+ */
+enum SnapshotEncoding {
+    LONG,
+    DOUBLE,
+    DECIMAL,
+    STRING,
+    TIMESTAMP,
+    DATE,
+    BYTES;
+
+    /**
+     * Encoding of the values an accessor puts in the batch, or null if they cannot be
+     * written to a snapshot.
+     */
+    static SnapshotEncoding of(ColumnAccessor accessor) {
+        switch (accessor.getKind()) {
+            case LONG:
+                return LONG;
+            case DOUBLE:
+                return DOUBLE;
+            default:
+                break;
+        }
+        String type = accessor.getInfo().getDataType();
+        switch (type) {
+            case "NUMBER":
+            case "FLOAT":
+                return DECIMAL;
+            case "VARCHAR2":
+            case "CHAR":
+            case "NVARCHAR2":
+            case "NCHAR":
+            case "CLOB":
+            case "NCLOB":
+                return STRING;
+            case "DATE":
+                return DATE;
+            case "RAW":
+            case "BLOB":
+                return BYTES;
+            default:
+                return type.startsWith("TIMESTAMP") && !type.contains("TIME ZONE") ? TIMESTAMP : null;
+        }
+    }
+
+    /**
+     * Accessor binding the values this encoding decodes to onto the target column.
+     */
+    ColumnAccessor accessor(int column, ColumnInfo info) {
+        if (this == DECIMAL) {
+            // Transformed NUMBER columns are described without a scale but hold decimals
+            return new ColumnAccessor.DecimalAccessor(column, 0, info);
+        }
+        return ColumnAccessor.forColumn(column, 0, info, LobMode.INLINE);
+    }
+
+    /**
+     * Appends the value of a non-null cell.
+     *
+     * @throws java.nio.BufferOverflowException if the buffer has no room for it
+     */
+    void write(ByteBuffer buffer, RowBatch batch, int column, int row) throws SQLException {
+        switch (this) {
+            case LONG:
+                buffer.putLong(batch.getLong(column, row));
+                break;
+            case DOUBLE:
+                buffer.putDouble(batch.getDouble(column, row));
+                break;
+            case DECIMAL:
+                BigDecimal decimal = toDecimal(batch.getObject(column, row));
+                buffer.putInt(decimal.scale());
+                putBytes(buffer, decimal.unscaledValue().toByteArray());
+                break;
+            case STRING:
+                putBytes(buffer, batch.getObject(column, row).toString().getBytes(StandardCharsets.UTF_8));
+                break;
+            case TIMESTAMP:
+                LocalDateTime timestamp = toTimestamp(batch.getObject(column, row)).toLocalDateTime();
+                buffer.putLong(timestamp.toEpochSecond(ZoneOffset.UTC));
+                buffer.putInt(timestamp.getNano());
+                break;
+            case DATE:
+                buffer.putLong(((Date) batch.getObject(column, row)).toLocalDate().toEpochDay());
+                break;
+            default:
+                putBytes(buffer, (byte[]) batch.getObject(column, row));
+        }
+    }
+
+    /**
+     * Reads the next value into the batch.
+     */
+    void read(ByteBuffer buffer, RowBatch batch, int column, int row) {
+        switch (this) {
+            case LONG:
+                batch.setLong(column, row, buffer.getLong());
+                break;
+            case DOUBLE:
+                batch.setDouble(column, row, buffer.getDouble());
+                break;
+            case DECIMAL:
+                int scale = buffer.getInt();
+                batch.setObject(column, row, new BigDecimal(new BigInteger(getBytes(buffer)), scale));
+                break;
+            case STRING:
+                int length = buffer.getInt();
+                String value = StandardCharsets.UTF_8.decode(buffer.slice(buffer.position(), length)).toString();
+                buffer.position(buffer.position() + length);
+                batch.setObject(column, row, value);
+                break;
+            case TIMESTAMP:
+                long seconds = buffer.getLong();
+                int nanos = buffer.getInt();
+                batch.setObject(column, row, Timestamp.valueOf(LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC)));
+                break;
+            case DATE:
+                batch.setObject(column, row, Date.valueOf(LocalDate.ofEpochDay(buffer.getLong())));
+                break;
+            default:
+                batch.setObject(column, row, getBytes(buffer));
+        }
+    }
+
+    private static BigDecimal toDecimal(Object value) {
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+    }
+
+    /**
+     * Columns read through {@link ColumnAccessor.ObjectAccessor} hold whatever the driver
+     * returns for a TIMESTAMP with a precision other than 6.
+     */
+    private static Timestamp toTimestamp(Object value) throws SQLException {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp;
+        }
+        if (value instanceof oracle.sql.TIMESTAMP timestamp) {
+            return timestamp.timestampValue();
+        }
+        return new Timestamp(((java.util.Date) value).getTime());
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static byte[] getBytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
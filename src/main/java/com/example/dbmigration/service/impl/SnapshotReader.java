@@ -0,0 +1,194 @@
+package com.example.dbmigration.service.impl;
+
+import com.example.dbmigration.model.ColumnInfo;
+import com.example.dbmigration.model.SnapshotCompression;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads a file written by {@link SnapshotWriter} back into row batches. The file is
+ * memory-mapped in windows of up to {@value #WINDOW_BYTES} bytes, so uncompressed
+ * blocks are decoded straight from the page cache without being copied into the heap
+ * first, and files larger than 2GB can be read.
+ */
+class SnapshotReader implements AutoCloseable {
+
+    private static final int WINDOW_BYTES = 256 * 1024 * 1024;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final long fileSize;
+    private final int blockRows;
+    private final ColumnAccessor[] accessors;
+    private final SnapshotEncoding[] encodings;
+    private final Inflater inflater;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long position;
+    private ByteBuffer inflated;
+    private long rowCount;
+    private boolean finished;
+
+    SnapshotReader(Path file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            this.fileSize = channel.size();
+            ByteBuffer header = map(15);
+            if (header.getInt() != SnapshotWriter.MAGIC) {
+                throw new IOException(file + " is not a snapshot file");
+            }
+            short version = header.getShort();
+            if (version != SnapshotWriter.VERSION) {
+                throw new IOException(file + " has snapshot format version " + version + ", expected " + SnapshotWriter.VERSION);
+            }
+            SnapshotCompression compression = SnapshotCompression.values()[header.get()];
+            this.blockRows = header.getInt();
+            int columnCount = header.getInt();
+            this.accessors = new ColumnAccessor[columnCount];
+            this.encodings = new SnapshotEncoding[columnCount];
+            for (int c = 0; c < columnCount; c++) {
+                ColumnInfo info = new ColumnInfo();
+                info.setName(readString());
+                info.setDataType(readString());
+                ByteBuffer attributes = map(13);
+                info.setLength(attributes.getInt());
+                info.setPrecision(attributes.getInt());
+                info.setScale(attributes.getInt());
+                encodings[c] = SnapshotEncoding.values()[attributes.get()];
+                accessors[c] = encodings[c].accessor(c, info);
+            }
+            this.inflater = compression == SnapshotCompression.DEFLATE ? new Inflater() : null;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Accessors binding the snapshot's columns, named as they were exported, onto the target.
+     */
+    ColumnAccessor[] getAccessors() {
+        return accessors;
+    }
+
+    /**
+     * Most rows any block holds; batches passed to {@link #read} need this capacity.
+     */
+    int getBlockRows() {
+        return blockRows;
+    }
+
+    long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Replaces the batch's rows with the next block.
+     *
+     * @return false once the end of the snapshot has been reached
+     * @throws IOException if the file is truncated or corrupt
+     */
+    boolean read(RowBatch batch) throws IOException {
+        batch.clear();
+        if (finished) {
+            return false;
+        }
+        ByteBuffer header = map(12);
+        int rows = header.getInt();
+        if (rows == 0) {
+            long expected = header.getLong();
+            if (expected != rowCount) {
+                throw new IOException(file + " declares " + expected + " rows but holds " + rowCount);
+            }
+            finished = true;
+            return false;
+        }
+        int storedBytes = header.getInt();
+        int rawBytes = header.getInt();
+        ByteBuffer payload = map(storedBytes);
+        if (inflater != null) {
+            payload = inflate(payload, rawBytes);
+        }
+        for (int row = 0; row < rows; row++) {
+            batch.addRow();
+        }
+        int bitmapBytes = (rows + 7) / 8;
+        for (int c = 0; c < accessors.length; c++) {
+            int nulls = payload.position();
+            payload.position(nulls + bitmapBytes);
+            SnapshotEncoding encoding = encodings[c];
+            for (int row = 0; row < rows; row++) {
+                if ((payload.get(nulls + (row >> 3)) & (1 << (row & 7))) != 0) {
+                    batch.setNull(c, row);
+                } else {
+                    encoding.read(payload, batch, c, row);
+                }
+            }
+        }
+        rowCount += rows;
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (inflater != null) {
+            inflater.end();
+        }
+        window = null;
+        channel.close();
+    }
+
+    private String readString() throws IOException {
+        int length = map(4).getInt();
+        return StandardCharsets.UTF_8.decode(map(length)).toString();
+    }
+
+    /**
+     * Returns the next {@code length} bytes of the file and moves past them, mapping a
+     * new window when they are not inside the current one.
+     */
+    private ByteBuffer map(int length) throws IOException {
+        if (position + length > fileSize) {
+            throw new IOException(file + " is truncated; it was not completely exported");
+        }
+        if (window == null || position < windowStart || position + length > windowStart + window.capacity()) {
+            long size = Math.min(Math.max(length, WINDOW_BYTES), fileSize - position);
+            window = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+            windowStart = position;
+        }
+        ByteBuffer slice = window.slice((int) (position - windowStart), length);
+        position += length;
+        return slice;
+    }
+
+    private ByteBuffer inflate(ByteBuffer payload, int rawBytes) throws IOException {
+        if (inflated == null || inflated.capacity() < rawBytes) {
+            inflated = ByteBuffer.allocate(rawBytes);
+        }
+        inflated.clear().limit(rawBytes);
+        inflater.reset();
+        inflater.setInput(payload);
+        try {
+            while (inflated.hasRemaining() && !inflater.finished()) {
+                if (inflater.inflate(inflated) == 0 && inflater.needsInput()) {
+                    break;
+                }
+            }
+        } catch (DataFormatException e) {
+            throw new IOException(file + " has a corrupt block", e);
+        }
+        if (inflated.hasRemaining()) {
+            throw new IOException(file + " has a corrupt block");
+        }
+        return inflated.flip();
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.dbmigration.service.impl;
+
+import com.example.dbmigration.model.ColumnInfo;
+import com.example.dbmigration.model.SnapshotCompression;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.zip.Deflater;
+
+/**
+ * Writes row batches to a snapshot file, one column-major block per batch.
+ *
+ * <p>Layout, all numbers big-endian:
+ * <pre>
+ * header  MAGIC, VERSION, compression, block rows, column count,
+ *         per column: name, data type, length, precision, scale, encoding
+ * block   rows, stored bytes, raw bytes, then the stored payload; per column
+ *         a null bitmap followed by the values of the non-null rows
+ * end     a block of 0 rows, then the total row count
+ * </pre>
+ * Strings are an int byte count followed by UTF-8. A block is compressed as a whole,
+ * so {@link SnapshotReader} can inflate it without touching the rest of the file.
+ */
+class SnapshotWriter implements AutoCloseable {
+
+    static final int MAGIC = 0x44424d53;
+    static final short VERSION = 1;
+    private static final int INITIAL_BUFFER_BYTES = 1 << 20;
+
+    private final FileChannel channel;
+    private final ColumnAccessor[] accessors;
+    private final SnapshotEncoding[] encodings;
+    private final Deflater deflater;
+    private ByteBuffer block = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+    private ByteBuffer compressed;
+    private long rowCount;
+
+    /**
+     * @param blockRows most rows a block will hold, so a reader can size its batches
+     * @throws IllegalArgumentException if a column holds values that cannot be written
+     */
+    SnapshotWriter(Path file, ColumnAccessor[] accessors, SnapshotCompression compression, int blockRows)
+            throws IOException {
+        this.accessors = accessors;
+        this.encodings = new SnapshotEncoding[accessors.length];
+        for (int c = 0; c < accessors.length; c++) {
+            encodings[c] = SnapshotEncoding.of(accessors[c]);
+            if (encodings[c] == null) {
+                throw new IllegalArgumentException("Column " + accessors[c].getInfo().getName() + " of type " +
+                    accessors[c].getInfo().getDataType() + " cannot be exported");
+            }
+        }
+        this.deflater = compression == SnapshotCompression.DEFLATE ? new Deflater(Deflater.BEST_SPEED) : null;
+        this.channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        writeHeader(compression, blockRows);
+    }
+
+    long getRowCount() {
+        return rowCount;
+    }
+
+    void write(RowBatch batch) throws IOException, SQLException {
+        int rows = batch.size();
+        if (rows == 0) {
+            return;
+        }
+        block.clear();
+        for (int c = 0; c < accessors.length; c++) {
+            writeColumn(batch, c, rows);
+        }
+        block.flip();
+        ByteBuffer payload = deflater != null ? deflate(block) : block;
+        ByteBuffer header = ByteBuffer.allocate(12);
+        header.putInt(rows).putInt(payload.remaining()).putInt(block.remaining()).flip();
+        writeFully(header);
+        writeFully(payload);
+        rowCount += rows;
+    }
+
+    /**
+     * Writes the end marker and forces the file to disk. A file closed without it is
+     * rejected by the reader as incomplete.
+     */
+    void finish() throws IOException {
+        ByteBuffer end = ByteBuffer.allocate(12);
+        end.putInt(0).putLong(rowCount).flip();
+        writeFully(end);
+        channel.force(true);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (deflater != null) {
+            deflater.end();
+        }
+        channel.close();
+    }
+
+    private void writeColumn(RowBatch batch, int column, int rows) throws SQLException {
+        byte[] nulls = new byte[(rows + 7) / 8];
+        for (int row = 0; row < rows; row++) {
+            if (batch.isNull(column, row)) {
+                nulls[row >> 3] |= (byte) (1 << (row & 7));
+            }
+        }
+        ensure(nulls.length);
+        block.put(nulls);
+        SnapshotEncoding encoding = encodings[column];
+        for (int row = 0; row < rows; row++) {
+            if (batch.isNull(column, row)) {
+                continue;
+            }
+            int start = block.position();
+            while (true) {
+                try {
+                    encoding.write(block, batch, column, row);
+                    break;
+                } catch (BufferOverflowException e) {
+                    // Grow and encode the cell again; only large strings and LOBs get here
+                    block.position(start);
+                    block = grow(block, block.capacity());
+                }
+            }
+        }
+    }
+
+    private ByteBuffer deflate(ByteBuffer raw) {
+        int bound = raw.remaining() + raw.remaining() / 1000 + 64;
+        if (compressed == null || compressed.capacity() < bound) {
+            compressed = ByteBuffer.allocate(bound);
+        }
+        compressed.clear();
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        while (!deflater.finished()) {
+            if (!compressed.hasRemaining()) {
+                compressed = grow(compressed, compressed.capacity());
+            }
+            deflater.deflate(compressed);
+        }
+        compressed.flip();
+        raw.rewind();
+        return compressed;
+    }
+
+    private void writeHeader(SnapshotCompression compression, int blockRows) throws IOException {
+        block.clear();
+        block.putInt(MAGIC).putShort(VERSION).put((byte) compression.ordinal()).putInt(blockRows).putInt(accessors.length);
+        for (int c = 0; c < accessors.length; c++) {
+            ColumnInfo info = accessors[c].getInfo();
+            putString(info.getName());
+            putString(info.getDataType());
+            ensure(13);
+            block.putInt(info.getLength()).putInt(info.getPrecision()).putInt(info.getScale()).put((byte) encodings[c].ordinal());
+        }
+        block.flip();
+        writeFully(block);
+    }
+
+    private void putString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        ensure(4 + bytes.length);
+        block.putInt(bytes.length).put(bytes);
+    }
+
+    private void ensure(int bytes) {
+        if (block.remaining() < bytes) {
+            block = grow(block, bytes);
+        }
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer, int bytes) {
+        ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+        buffer.flip();
+        grown.put(buffer);
+        return grown;
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.dbmigration.service.impl;
+
+import com.example.dbmigration.model.ColumnInfo;
+import com.example.dbmigration.model.ColumnMapping;
+import com.example.dbmigration.model.LobMode;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Everything about a mapping that is resolved once per table and shared by all of
+ * its slices: the columns read and written, their compiled accessors and the target write.
+ */
+@Getter
+class TablePlan implements AutoCloseable {
+    /** Batch columns in insert parameter order, named and typed as they are written to the target. */
+    private final List<ColumnInfo> columns;
+    /** Source columns in select-list order; may be shorter than {@link #columns} or empty. */
+    private final List<String> selectColumns;
+    private final ColumnAccessor[] accessors;
+    /** Per batch column, the source column it copies unchanged, or null for a transformed one. */
+    @Getter(AccessLevel.NONE)
+    private final String[] copiedFrom;
+    /** Accessors holding streamed LOB locators that must be released after each batch. */
+    private final ColumnAccessor[] lobAccessors;
+    private final int lobColumnCount;
+    /** INSERT or MERGE binding the batch columns in order. */
+    @Setter(AccessLevel.PACKAGE)
+    private String writeSql;
+    /** Rough upper bound on the bytes one row occupies in a batch, from the column metadata. */
+    private final long estimatedRowBytes;
+    @Setter(AccessLevel.PACKAGE)
+    private BatchSizeController batchSizer;
+    @Setter(AccessLevel.PACKAGE)
+    private FailedRecordWriter failedRecords;
+    /** Rows to read in an incremental run, or null for a full copy. */
+    @Setter(AccessLevel.PACKAGE)
+    private IncrementalWindow incrementalWindow;
+
+    /**
+     * Plan writing values that are already in the batch, such as rows replayed from a
+     * snapshot file; no source columns are read.
+     */
+    TablePlan(ColumnAccessor[] accessors) {
+        this(accessors, List.of(), new String[accessors.length]);
+    }
+
+    private TablePlan(ColumnAccessor[] accessors, List<String> selectColumns, String[] copiedFrom) {
+        this.accessors = accessors;
+        this.selectColumns = selectColumns;
+        this.copiedFrom = copiedFrom;
+        this.columns = Arrays.stream(accessors).map(ColumnAccessor::getInfo).collect(Collectors.toList());
+        this.lobAccessors = Arrays.stream(accessors)
+                .filter(ColumnAccessor::holdsLocator)
+                .toArray(ColumnAccessor[]::new);
+        this.lobColumnCount = (int) columns.stream()
+                .filter(c -> "BLOB".equals(c.getDataType()) || "CLOB".equals(c.getDataType()))
+                .count();
+        this.estimatedRowBytes = Math.max(columns.stream().mapToLong(TablePlan::estimateBytes).sum(), 1);
+    }
+
+    /**
+     * Compiles the accessors of a mapping. Without column mappings every source column is
+     * copied to the target column of the same name; otherwise only the mapped columns are
+     * written, and only the source columns they use are read.
+     *
+     * @throws IllegalArgumentException if a column mapping cannot be resolved or compiled
+     */
+    static TablePlan compile(List<ColumnInfo> sourceColumns, List<ColumnMapping> columnMappings, LobMode lobMode) {
+        if (columnMappings == null || columnMappings.isEmpty()) {
+            List<String> selectColumns = sourceColumns.stream().map(ColumnInfo::getName).collect(Collectors.toList());
+            return new TablePlan(ColumnAccessor.compile(sourceColumns, lobMode), selectColumns,
+                selectColumns.toArray(new String[0]));
+        }
+        ColumnAccessor[] accessors = new ColumnAccessor[columnMappings.size()];
+        List<String> selectColumns = new ArrayList<>();
+        String[] copiedFrom = new String[accessors.length];
+        Set<String> targets = new HashSet<>();
+        for (int c = 0; c < accessors.length; c++) {
+            ColumnMapping mapping = columnMappings.get(c);
+            String target = mapping.getTarget() != null ? mapping.getTarget() : mapping.getSource();
+            if (target == null) {
+                throw new IllegalArgumentException("Column mapping " + (c + 1) + " has neither a source nor a target column");
+            }
+            if (!targets.add(target.toUpperCase(Locale.ROOT))) {
+                throw new IllegalArgumentException("Target column " + target + " is mapped more than once");
+            }
+            ColumnInfo source = mapping.getSource() != null ? findColumn(sourceColumns, mapping.getSource()) : null;
+            int readIndex = source != null ? selectIndex(selectColumns, source.getName()) : 0;
+            accessors[c] = compile(c, readIndex, source, target, mapping, lobMode);
+            if (mapping.getTransforms() == null || mapping.getTransforms().isEmpty()) {
+                copiedFrom[c] = source.getName();
+            }
+        }
+        return new TablePlan(accessors, selectColumns, copiedFrom);
+    }
+
+    /**
+     * Position of the batch column holding an unchanged copy of a source column, or -1
+     * when the column is not read or only written transformed.
+     */
+    int indexOfCopy(String sourceColumn) {
+        for (int c = 0; c < copiedFrom.length; c++) {
+            if (sourceColumn.equalsIgnoreCase(copiedFrom[c])) {
+                return c;
+            }
+        }
+        return -1;
+    }
+
+    private static ColumnAccessor compile(int c, int readIndex, ColumnInfo source, String target,
+                                          ColumnMapping mapping, LobMode lobMode) {
+        if (mapping.getTransforms() == null || mapping.getTransforms().isEmpty()) {
+            if (source == null) {
+                throw new IllegalArgumentException("Column " + target + " needs a source column or a CONSTANT transform");
+            }
+            return ColumnAccessor.forColumn(c, readIndex, source.withName(target), lobMode);
+        }
+        ValueTransform.ValueType input = null;
+        if (source != null) {
+            input = ValueTransform.ValueType.of(source);
+            if (input == null) {
+                throw new IllegalArgumentException("Column " + source.getName() + " of type " + source.getDataType() +
+                    " cannot be transformed");
+            }
+        }
+        ValueTransform[] steps = ValueTransform.compile(target, input, mapping.getTransforms());
+        ColumnInfo info = steps[steps.length - 1].getOutput().describe(target);
+        return new ColumnAccessor.TransformAccessor(c, readIndex, info, input, steps);
+    }
+
+    private static int selectIndex(List<String> selectColumns, String sourceColumn) {
+        int index = selectColumns.indexOf(sourceColumn);
+        if (index < 0) {
+            selectColumns.add(sourceColumn);
+            index = selectColumns.size() - 1;
+        }
+        return index + 1;
+    }
+
+    private static ColumnInfo findColumn(List<ColumnInfo> columns, String name) {
+        return columns.stream()
+                .filter(c -> c.getName().equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Source column " + name + " not found"));
+    }
+
+    /**
+     * Flushes and closes the table's failed-records file.
+     */
+    @Override
+    public void close() {
+        if (failedRecords != null) {
+            failedRecords.close();
+        }
+    }
+
+    private static long estimateBytes(ColumnInfo column) {
+        String type = column.getDataType();
+        switch (type) {
+            case "NUMBER":
+                return column.getPrecision() > 0 ? column.getPrecision() / 2 + 2 : 22;
+            case "BINARY_DOUBLE":
+                return 8;
+            case "BINARY_FLOAT":
+                return 4;
+            case "DATE":
+                return 7;
+            default:
+                if (type.startsWith("TIMESTAMP")) {
+                    return 11;
+                }
+                // Character and raw lengths, and the inline size reported for LOBs
+                return Math.max(column.getLength(), 1);
+        }
+    }
+}
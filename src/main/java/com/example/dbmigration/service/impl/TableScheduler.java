@@ -0,0 +1,229 @@
+package com.example.dbmigration.service.impl;
+
+import com.example.dbmigration.config.WorkerExecutors;
+import com.example.dbmigration.model.MigrationResult;
+import com.example.dbmigration.model.SliceResult;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Runs a set of mappings concurrently. A mapping starts only once the mappings
+ * loading the tables its target references by foreign key have finished, and among
+ * the mappings that are ready the largest goes first, so one big table does not end
+ * up running alone at the end. Two budgets apply: the number of mappings running at
+ * once, and the total slice workers those mappings use.
+ *
+ * <p>A mapping whose parent failed is not started, since its rows would be loaded
+ * against a missing or partial parent table; it is reported as failed too.
+ */
+@Slf4j
+class TableScheduler {
+
+    private static final class Task {
+        private final int order;
+        private final String name;
+        private final String sourceTable;
+        private final String targetTable;
+        private final long size;
+        private final int workers;
+        private final Callable<MigrationResult> work;
+        private final Set<Task> parents = new HashSet<>();
+        private MigrationResult result;
+
+        private Task(int order, String name, String sourceTable, String targetTable, long size, int workers,
+                     Callable<MigrationResult> work) {
+            this.order = order;
+            this.name = name;
+            this.sourceTable = sourceTable;
+            this.targetTable = targetTable;
+            this.size = size;
+            this.workers = workers;
+            this.work = work;
+        }
+
+        private boolean isFailed() {
+            return result == null || result.getFailed() > 0;
+        }
+
+        private void fail(String message) {
+            result = new MigrationResult(sourceTable, targetTable);
+            result.getSlices().add(SliceResult.failure(name, 0, message));
+        }
+    }
+
+    private final WorkerExecutors executors;
+    private final int maxTables;
+    private final int maxWorkers;
+    private final List<Task> tasks = new ArrayList<>();
+
+    TableScheduler(WorkerExecutors executors, int maxTables, int maxWorkers) {
+        this.executors = executors;
+        this.maxTables = Math.max(maxTables, 1);
+        this.maxWorkers = Math.max(maxWorkers, 1);
+    }
+
+    /**
+     * @param size    relative size used to start big tables first, e.g. estimated bytes
+     * @param workers slice workers the mapping will use while it runs
+     */
+    void add(String name, String sourceTable, String targetTable, long size, int workers, Callable<MigrationResult> work) {
+        tasks.add(new Task(tasks.size(), name, sourceTable, targetTable, size,
+            Math.min(Math.max(workers, 1), maxWorkers), work));
+    }
+
+    /**
+     * Makes every mapping into {@code childTable} wait for every mapping into {@code parentTable}.
+     */
+    void addDependency(String childTable, String parentTable) {
+        if (childTable.equalsIgnoreCase(parentTable)) {
+            return;
+        }
+        for (Task child : tasks) {
+            if (!child.targetTable.equalsIgnoreCase(childTable)) {
+                continue;
+            }
+            for (Task parent : tasks) {
+                if (parent.targetTable.equalsIgnoreCase(parentTable)) {
+                    child.parents.add(parent);
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs the mappings and returns a result for every one of them, in the order they
+     * were added. A mapping that throws is logged and reported as failed without holding
+     * up the others, except the mappings that depend on it. No new mapping is started
+     * once {@code cancelled} returns true; those not started are reported as failed.
+     */
+    List<MigrationResult> run(BooleanSupplier cancelled) {
+        List<Task> pending = new ArrayList<>(tasks);
+        Set<Task> done = new HashSet<>();
+        ExecutorService executor = executors.newExecutor("table-", Math.min(maxTables, Math.max(tasks.size(), 1)));
+        CompletionService<Task> completion = new ExecutorCompletionService<>(executor);
+        int running = 0;
+        int busyWorkers = 0;
+        try {
+            while (!pending.isEmpty() || running > 0) {
+                if (!cancelled.getAsBoolean()) {
+                    skipDependents(pending, done);
+                    List<Task> ready = ready(pending, done);
+                    if (ready.isEmpty() && running == 0 && !pending.isEmpty()) {
+                        ready = List.of(breakCycle(pending));
+                    }
+                    for (Task task : ready) {
+                        if (running >= maxTables) {
+                            break;
+                        }
+                        if (busyWorkers + task.workers > maxWorkers && running > 0) {
+                            // Leave room for it; a smaller ready mapping may still fit
+                            continue;
+                        }
+                        pending.remove(task);
+                        running++;
+                        busyWorkers += task.workers;
+                        log.info("Starting {} ({} workers, {} of {} mappings running)", task.name, task.workers, running, maxTables);
+                        completion.submit(() -> execute(task), task);
+                    }
+                } else if (running == 0) {
+                    log.info("Scheduler cancelled with {} mappings not started", pending.size());
+                    break;
+                }
+                if (running == 0) {
+                    continue;
+                }
+                Task finished = completion.take().get();
+                running--;
+                busyWorkers -= finished.workers;
+                done.add(finished);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+            throw new RuntimeException("Migration interrupted", e);
+        } catch (ExecutionException e) {
+            // Tasks catch their own failures, so this only happens on an unexpected error
+            throw new RuntimeException("Migration failed", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+
+        for (Task task : pending) {
+            task.fail("Not started: the migration was cancelled");
+        }
+        List<MigrationResult> results = new ArrayList<>();
+        tasks.stream()
+            .sorted(Comparator.comparingInt(t -> t.order))
+            .forEach(t -> results.add(t.result));
+        return results;
+    }
+
+    private void execute(Task task) {
+        try {
+            task.result = task.work.call();
+        } catch (Exception e) {
+            log.error("Failed to migrate {}", task.name, e);
+            task.fail(e.getMessage());
+        }
+    }
+
+    /**
+     * Marks pending mappings with a failed parent as failed without running them, and
+     * in turn their own dependents.
+     */
+    private static void skipDependents(List<Task> pending, Set<Task> done) {
+        boolean skipped = true;
+        while (skipped) {
+            skipped = false;
+            for (Task task : new ArrayList<>(pending)) {
+                Task failedParent = task.parents.stream()
+                        .filter(p -> done.contains(p) && p.isFailed())
+                        .findFirst()
+                        .orElse(null);
+                if (failedParent != null) {
+                    log.warn("Skipping {}: mapping {} of its parent table {} failed",
+                        task.name, failedParent.name, failedParent.targetTable);
+                    task.fail("Not started: mapping " + failedParent.name + " of parent table " +
+                        failedParent.targetTable + " failed");
+                    pending.remove(task);
+                    done.add(task);
+                    skipped = true;
+                }
+            }
+        }
+    }
+
+    private static List<Task> ready(List<Task> pending, Set<Task> done) {
+        List<Task> ready = new ArrayList<>();
+        for (Task task : pending) {
+            if (done.containsAll(task.parents)) {
+                ready.add(task);
+            }
+        }
+        ready.sort(Comparator.comparingLong((Task t) -> t.size).reversed());
+        return ready;
+    }
+
+    /**
+     * Every pending mapping waits on another pending one, so the foreign keys form a
+     * cycle; the largest is started without waiting.
+     */
+    private static Task breakCycle(List<Task> pending) {
+        Task task = pending.stream().max(Comparator.comparingLong(t -> t.size)).orElseThrow();
+        log.warn("Foreign key cycle among {} pending mappings; starting {} without waiting for its parents",
+            pending.size(), task.name);
+        task.parents.clear();
+        return task;
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.dbmigration.service.impl;
+
+import com.example.dbmigration.model.ColumnInfo;
+import com.example.dbmigration.model.ColumnTransform;
+import com.example.dbmigration.model.TransformType;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.UnaryOperator;
+
+/**
+ * One compiled step of a column's transform chain. Chains are compiled once per table
+ * from the mapping's {@link ColumnTransform}s: each step is checked against the type
+ * the previous one produces and has its argument parsed up front, so bad mappings fail
+ * before any row is read and the row loop only calls {@link #apply}. Null values pass
+ * through every step except CONSTANT.
+ */
+final class ValueTransform {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    /** Java representation of a value between steps. */
+    enum ValueType {
+        STRING("VARCHAR2", Types.VARCHAR) {
+            @Override
+            Object read(ResultSet rs, int index) throws SQLException {
+                return rs.getString(index);
+            }
+        },
+        NUMBER("NUMBER", Types.NUMERIC) {
+            @Override
+            Object read(ResultSet rs, int index) throws SQLException {
+                return rs.getBigDecimal(index);
+            }
+        },
+        TIMESTAMP("TIMESTAMP(6)", Types.TIMESTAMP) {
+            @Override
+            Object read(ResultSet rs, int index) throws SQLException {
+                return rs.getTimestamp(index);
+            }
+        },
+        BINARY("RAW", Types.VARBINARY) {
+            @Override
+            Object read(ResultSet rs, int index) throws SQLException {
+                return rs.getBytes(index);
+            }
+        };
+
+        private final String dataType;
+        private final int sqlType;
+
+        ValueType(String dataType, int sqlType) {
+            this.dataType = dataType;
+            this.sqlType = sqlType;
+        }
+
+        int getSqlType() {
+            return sqlType;
+        }
+
+        abstract Object read(ResultSet rs, int index) throws SQLException;
+
+        /**
+         * Describes a transformed batch column holding values of this type.
+         */
+        ColumnInfo describe(String name) {
+            ColumnInfo column = new ColumnInfo();
+            column.setName(name);
+            column.setDataType(dataType);
+            return column;
+        }
+
+        /**
+         * Type a source column is read as for transforming, or null if it cannot be.
+         */
+        static ValueType of(ColumnInfo column) {
+            String type = column.getDataType();
+            switch (type) {
+                case "NUMBER":
+                case "FLOAT":
+                case "BINARY_FLOAT":
+                case "BINARY_DOUBLE":
+                    return NUMBER;
+                case "VARCHAR2":
+                case "CHAR":
+                case "NVARCHAR2":
+                case "NCHAR":
+                case "CLOB":
+                case "NCLOB":
+                    return STRING;
+                case "DATE":
+                    return TIMESTAMP;
+                case "RAW":
+                case "BLOB":
+                    return BINARY;
+                default:
+                    return type.startsWith("TIMESTAMP") ? TIMESTAMP : null;
+            }
+        }
+    }
+
+    private final ValueType output;
+    private final UnaryOperator<Object> function;
+    private final boolean constant;
+
+    private ValueTransform(ValueType output, UnaryOperator<Object> function, boolean constant) {
+        this.output = output;
+        this.function = function;
+        this.constant = constant;
+    }
+
+    ValueType getOutput() {
+        return output;
+    }
+
+    Object apply(Object value) {
+        return value == null && !constant ? null : function.apply(value);
+    }
+
+    /**
+     * @param input type of the source column, or null for a column without one
+     */
+    static ValueTransform[] compile(String column, ValueType input, List<ColumnTransform> transforms) {
+        ValueTransform[] steps = new ValueTransform[transforms.size()];
+        ValueType type = input;
+        for (int i = 0; i < steps.length; i++) {
+            steps[i] = compile(column, type, transforms.get(i));
+            type = steps[i].output;
+        }
+        return steps;
+    }
+
+    private static ValueTransform compile(String column, ValueType input, ColumnTransform transform) {
+        String argument = transform.getArgument();
+        if (input == null && transform.getType() != TransformType.CONSTANT) {
+            throw new IllegalArgumentException("Column " + column + " has no source column; its first transform must be CONSTANT");
+        }
+        switch (transform.getType()) {
+            case CONSTANT:
+                return new ValueTransform(ValueType.STRING, value -> argument, true);
+            case TRIM:
+                expect(column, transform, input, ValueType.STRING);
+                return new ValueTransform(ValueType.STRING, value -> ((String) value).trim(), false);
+            case CAST:
+                return cast(column, input, argument);
+            case DATE_FORMAT:
+                return dateFormat(column, transform, input);
+            case HASH_MASK:
+                return hashMask(input, argument);
+            default:
+                throw new IllegalArgumentException("Unsupported transform " + transform.getType() + " on column " + column);
+        }
+    }
+
+    private static ValueTransform cast(String column, ValueType input, String argument) {
+        String target = argument != null ? argument.trim().toUpperCase(Locale.ROOT) : "";
+        switch (target) {
+            case "VARCHAR2":
+            case "VARCHAR":
+            case "CHAR":
+                return new ValueTransform(ValueType.STRING, toText(input), false);
+            case "NUMBER":
+                if (input == ValueType.NUMBER) {
+                    return new ValueTransform(ValueType.NUMBER, value -> value, false);
+                }
+                if (input == ValueType.STRING) {
+                    return new ValueTransform(ValueType.NUMBER, value -> new BigDecimal(((String) value).trim()), false);
+                }
+                break;
+            case "DATE":
+            case "TIMESTAMP":
+                if (input == ValueType.TIMESTAMP) {
+                    return new ValueTransform(ValueType.TIMESTAMP, value -> value, false);
+                }
+                if (input == ValueType.STRING) {
+                    // JDBC escape format, yyyy-mm-dd hh:mm:ss[.f...]; DATE_FORMAT parses other layouts
+                    return new ValueTransform(ValueType.TIMESTAMP, value -> Timestamp.valueOf(((String) value).trim()), false);
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("CAST on column " + column +
+                    " needs VARCHAR2, NUMBER, DATE or TIMESTAMP as argument, not " + argument);
+        }
+        throw new IllegalArgumentException("Column " + column + " cannot be cast from " + input + " to " + target);
+    }
+
+    private static ValueTransform dateFormat(String column, ColumnTransform transform, ValueType input) {
+        if (transform.getArgument() == null || transform.getArgument().isEmpty()) {
+            throw new IllegalArgumentException("DATE_FORMAT on column " + column + " needs a pattern as argument");
+        }
+        DateTimeFormatter formatter = new DateTimeFormatterBuilder()
+                .appendPattern(transform.getArgument())
+                .parseDefaulting(ChronoField.HOUR_OF_DAY, 0)
+                .parseDefaulting(ChronoField.MINUTE_OF_HOUR, 0)
+                .parseDefaulting(ChronoField.SECOND_OF_MINUTE, 0)
+                .toFormatter(Locale.ROOT);
+        if (input == ValueType.TIMESTAMP) {
+            return new ValueTransform(ValueType.STRING,
+                value -> formatter.format(((Timestamp) value).toLocalDateTime()), false);
+        }
+        expect(column, transform, input, ValueType.STRING);
+        return new ValueTransform(ValueType.TIMESTAMP,
+            value -> Timestamp.valueOf(LocalDateTime.parse(((String) value).trim(), formatter)), false);
+    }
+
+    private static ValueTransform hashMask(ValueType input, String salt) {
+        byte[] prefix = salt != null ? salt.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        UnaryOperator<Object> text = toText(input);
+        // MessageDigest is not thread-safe and the slices of a table share the chain
+        ThreadLocal<MessageDigest> digests = ThreadLocal.withInitial(() -> {
+            try {
+                return MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        return new ValueTransform(ValueType.STRING, value -> {
+            MessageDigest digest = digests.get();
+            digest.update(prefix);
+            byte[] bytes = input == ValueType.BINARY
+                    ? (byte[]) value
+                    : ((String) text.apply(value)).getBytes(StandardCharsets.UTF_8);
+            return HEX.formatHex(digest.digest(bytes));
+        }, false);
+    }
+
+    private static UnaryOperator<Object> toText(ValueType input) {
+        switch (input) {
+            case NUMBER:
+                return value -> ((BigDecimal) value).toPlainString();
+            case BINARY:
+                return value -> HEX.formatHex((byte[]) value);
+            case TIMESTAMP:
+                return value -> value.toString();
+            default:
+                return value -> value;
+        }
+    }
+
+    private static void expect(String column, ColumnTransform transform, ValueType input, ValueType expected) {
+        if (input != expected) {
+            throw new IllegalArgumentException(transform.getType() + " on column " + column +
+                " needs a " + expected + " value, not " + input);
+        }
+    }
+}
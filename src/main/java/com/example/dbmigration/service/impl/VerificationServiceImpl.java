@@ -0,0 +1,491 @@
+package com.example.dbmigration.service.impl;
+
+import com.example.dbmigration.config.MappingConfig;
+import com.example.dbmigration.config.MigrationProperties;
+import com.example.dbmigration.config.WorkerExecutors;
+import com.example.dbmigration.model.ChunkDifference;
+import com.example.dbmigration.model.ColumnInfo;
+import com.example.dbmigration.model.ColumnMapping;
+import com.example.dbmigration.model.MigrationMapping;
+import com.example.dbmigration.model.ProgressState;
+import com.example.dbmigration.model.TableMapping;
+import com.example.dbmigration.model.VerificationJob;
+import com.example.dbmigration.model.VerificationResult;
+import com.example.dbmigration.service.MetadataService;
+import com.example.dbmigration.service.VerificationService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Verifies mappings by comparing a row count and a hash per chunk, both computed by
+ * the databases. A row hashes to ORA_HASH over the hashes of its columns, and a
+ * chunk to the SUM of its row hashes, so the result does not depend on row order
+ * and only two numbers per chunk and side are fetched.
+ *
+ * <p>Chunks are ranges of the mapping's split column or single-column integer
+ * primary key, taken over the combined key range of both sides so that extra target
+ * rows are found too; other tables are compared as a single chunk. LOB columns
+ * contribute their length and a hash of their first bytes. Column values are hashed
+ * in each database's own representation, so character data only compares equal
+ * between databases with the same character set. With column mappings only columns
+ * copied unchanged are compared, each under its source and target name; columns
+ * filled by transforms are reported as skipped. The mapping's where clause is applied
+ * to the target with its columns renamed the same way.
+ */
+@Slf4j
+@Service
+public class VerificationServiceImpl implements VerificationService {
+
+    private static final Set<String> HASHABLE_TYPES = Set.of(
+        "NUMBER", "FLOAT", "BINARY_FLOAT", "BINARY_DOUBLE", "VARCHAR2", "CHAR", "NVARCHAR2", "NCHAR", "DATE", "RAW");
+    private static final Set<String> LOB_TYPES = Set.of("CLOB", "NCLOB", "BLOB");
+    /** Column hashes concatenated per ORA_HASH call, keeping its argument under 4000 bytes. */
+    private static final int HASHES_PER_GROUP = 100;
+    private static final String ALL_ROWS = "all rows";
+    /** String literals, quoted identifiers and plain identifiers of a where clause. */
+    private static final Pattern FILTER_TOKEN = Pattern.compile("'(?:[^']|'')*'|\"[^\"]+\"|[A-Za-z][A-Za-z0-9_$#]*");
+
+    private static final class Chunk {
+        private final String range;
+        /** Predicate with bind markers and %s for the key column, or null for all rows. */
+        private final String predicate;
+        private final List<Object> params;
+
+        private Chunk(String range, String predicate, List<Object> params) {
+            this.range = range;
+            this.predicate = predicate;
+            this.params = params;
+        }
+    }
+
+    /** What one side of a mapping is hashed over: its table, row filter, row hash and key column. */
+    private static final class Side {
+        private final String table;
+        /** The mapping's where clause in this side's column names, or null. */
+        private final String filter;
+        private final String rowHash;
+        private final String keyColumn;
+
+        private Side(String table, String filter, String rowHash, String keyColumn) {
+            this.table = table;
+            this.filter = filter != null && !filter.trim().isEmpty() ? filter : null;
+            this.rowHash = rowHash;
+            this.keyColumn = keyColumn;
+        }
+    }
+
+    private static final class ChunkHash {
+        private final long rows;
+        private final BigDecimal hash;
+
+        private ChunkHash(long rows, BigDecimal hash) {
+            this.rows = rows;
+            this.hash = hash != null ? hash : BigDecimal.ZERO;
+        }
+
+        private boolean matches(ChunkHash other) {
+            return rows == other.rows && hash.compareTo(other.hash) == 0;
+        }
+    }
+
+    private final JdbcTemplate sourceJdbcTemplate;
+    private final JdbcTemplate targetJdbcTemplate;
+    private final MappingConfig mappingConfig;
+    private final MigrationProperties properties;
+    private final MetadataService metadata;
+    private final WorkerExecutors executors;
+    private final ExecutorService jobExecutor;
+    private final Map<String, VerificationJob> jobs = new ConcurrentHashMap<>();
+
+    public VerificationServiceImpl(
+            @Qualifier("sourceJdbcTemplate") JdbcTemplate sourceJdbcTemplate,
+            @Qualifier("targetJdbcTemplate") JdbcTemplate targetJdbcTemplate,
+            MappingConfig mappingConfig,
+            MigrationProperties properties,
+            MetadataService metadata,
+            WorkerExecutors executors) {
+        this.sourceJdbcTemplate = sourceJdbcTemplate;
+        this.targetJdbcTemplate = targetJdbcTemplate;
+        this.mappingConfig = mappingConfig;
+        this.properties = properties;
+        this.metadata = metadata;
+        this.executors = executors;
+        this.jobExecutor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("verification-job-"));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        jobs.values().forEach(VerificationJob::requestCancel);
+        jobExecutor.shutdown();
+    }
+
+    @Override
+    public VerificationJob submit(String mappingName) {
+        List<MigrationMapping> mappings = new ArrayList<>(mappingConfig.getTables());
+        mappings.addAll(mappingConfig.getPartitions());
+        if (mappingName != null && !mappingName.isEmpty()) {
+            mappings.removeIf(m -> !m.getMappingName().equalsIgnoreCase(mappingName));
+            if (mappings.isEmpty()) {
+                throw new IllegalArgumentException("No configured mapping " + mappingName);
+            }
+        }
+        VerificationJob job = new VerificationJob();
+        jobs.put(job.getJobId(), job);
+        jobExecutor.execute(() -> run(job, mappings));
+        log.info("Submitted verification job {} for {} mappings", job.getJobId(), mappings.size());
+        return job;
+    }
+
+    @Override
+    public Optional<VerificationJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    @Override
+    public List<VerificationJob> getJobs() {
+        return new ArrayList<>(jobs.values());
+    }
+
+    @Override
+    public Optional<VerificationJob> cancel(String jobId) {
+        VerificationJob job = jobs.get(jobId);
+        if (job != null && !job.getState().isFinished()) {
+            log.info("Cancelling verification job {}", jobId);
+            job.requestCancel();
+        }
+        return Optional.ofNullable(job);
+    }
+
+    private void run(VerificationJob job, List<MigrationMapping> mappings) {
+        if (job.isCancelRequested()) {
+            job.finish(ProgressState.CANCELLED, null);
+            return;
+        }
+        job.start();
+        try {
+            metadata.load(mappings);
+            for (MigrationMapping mapping : mappings) {
+                if (job.isCancelRequested()) {
+                    break;
+                }
+                job.getResults().add(verify(mapping, job));
+            }
+            if (job.isCancelRequested()) {
+                job.finish(ProgressState.CANCELLED, null);
+            } else if (job.getResults().stream().anyMatch(r -> r.getErrorMessage() != null)) {
+                job.finish(ProgressState.FAILED, "One or more mappings could not be verified");
+            } else {
+                job.finish(ProgressState.COMPLETED, null);
+            }
+        } catch (Exception e) {
+            log.error("Verification job {} failed", job.getJobId(), e);
+            job.finish(ProgressState.FAILED, e.getMessage());
+        }
+        log.info("Verification job {} finished: {}", job.getJobId(), job.getState());
+    }
+
+    private VerificationResult verify(MigrationMapping mapping, VerificationJob job) {
+        VerificationResult result = new VerificationResult(mapping.getSourceTable(), mapping.getTargetTable());
+        long start = System.currentTimeMillis();
+        try {
+            List<ColumnInfo> columns = metadata.getColumns(mapping.getSourceTable());
+            if (columns.isEmpty()) {
+                throw new IllegalArgumentException("Source table " + mapping.getSourceTable() + " not found");
+            }
+            List<ColumnInfo> sourceColumns = new ArrayList<>();
+            List<ColumnInfo> targetColumns = new ArrayList<>();
+            pairColumns(mapping, columns, sourceColumns, targetColumns, result.getSkippedColumns());
+            String keyColumn = findKeyColumn(mapping, sourceColumns);
+            String targetKey = null;
+            if (keyColumn != null) {
+                targetKey = targetColumns.get(sourceColumns.indexOf(findColumn(sourceColumns, keyColumn))).getName();
+            }
+            Side source = new Side(mapping.getSourceTable(), mapping.getWhereClause(), 
+                buildRowHash(sourceColumns, result.getSkippedColumns()), keyColumn);
+            Side target = new Side(mapping.getTargetTable(), 
+                translateFilter(mapping.getWhereClause(), columns, sourceColumns, targetColumns),
+                buildRowHash(targetColumns, new ArrayList<>()), targetKey);
+            List<Chunk> chunks = keyColumn != null
+                    ? splitByKey(mapping, source, target)
+                    : List.of(new Chunk(ALL_ROWS, null, List.of()));
+            result.setKeyColumn(keyColumn);
+            result.setChunkCount(chunks.size());
+
+            List<ChunkHash[]> hashes = hashChunks(mapping, source, target, chunks, job);
+            for (int i = 0; i < chunks.size(); i++) {
+                ChunkHash[] pair = hashes.get(i);
+                if (pair == null) {
+                    continue;
+                }
+                result.setSourceRows(result.getSourceRows() + pair[0].rows);
+                result.setTargetRows(result.getTargetRows() + pair[1].rows);
+                if (pair[0].matches(pair[1])) {
+                    result.setMatchedChunks(result.getMatchedChunks() + 1);
+                } else {
+                    result.getDifferences().add(new ChunkDifference(
+                        chunks.get(i).range, pair[0].rows, pair[1].rows, pair[0].hash, pair[1].hash));
+                }
+            }
+            log.info("Verified {}: {} of {} chunks match, {} source rows, {} target rows", mapping.getMappingName(),
+                result.getMatchedChunks(), result.getChunkCount(), result.getSourceRows(), result.getTargetRows());
+        } catch (Exception e) {
+            log.error("Error verifying {}", mapping.getMappingName(), e);
+            result.setErrorMessage(e.getMessage());
+        }
+        result.setElapsedMillis(System.currentTimeMillis() - start);
+        return result;
+    }
+
+    /**
+     * Hashes every chunk on both sides, up to {@code app.migration.verification.concurrency}
+     * chunks at a time. Chunks skipped after cancellation are returned as null.
+     */
+    private List<ChunkHash[]> hashChunks(MigrationMapping mapping, Side source, Side target, List<Chunk> chunks,
+                                         VerificationJob job) {
+        int poolLimit = Math.min(executors.getSourcePoolSize(), executors.getTargetPoolSize());
+        int concurrency = Math.max(Math.min(properties.getVerification().getConcurrency(),
+            Math.min(poolLimit, chunks.size())), 1);
+        ExecutorService executor = executors.newExecutor("verify-" + mapping.getSourceTable() + "-", concurrency);
+        Semaphore slots = new Semaphore(concurrency);
+        try {
+            List<Future<ChunkHash[]>> futures = new ArrayList<>();
+            for (Chunk chunk : chunks) {
+                futures.add(executor.submit(() -> {
+                    slots.acquire();
+                    try {
+                        if (job.isCancelRequested()) {
+                            return null;
+                        }
+                        ChunkHash sourceHash = executors.withSourceConnection(() ->
+                            hashChunk(sourceJdbcTemplate, source, chunk));
+                        ChunkHash targetHash = executors.withTargetConnection(() ->
+                            hashChunk(targetJdbcTemplate, target, chunk));
+                        return new ChunkHash[] {sourceHash, targetHash};
+                    } finally {
+                        slots.release();
+                    }
+                }));
+            }
+            List<ChunkHash[]> hashes = new ArrayList<>();
+            for (Future<ChunkHash[]> future : futures) {
+                hashes.add(future.get());
+            }
+            return hashes;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+            throw new RuntimeException("Verification interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Verification failed", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static ChunkHash hashChunk(JdbcTemplate jdbcTemplate, Side side, Chunk chunk) {
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*), SUM(").append(side.rowHash).append(") FROM ").append(side.table);
+        List<String> conditions = new ArrayList<>();
+        if (side.filter != null) {
+            conditions.add("(" + side.filter + ")");
+        }
+        if (chunk.predicate != null) {
+            conditions.add(String.format(chunk.predicate, side.keyColumn));
+        }
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        return jdbcTemplate.queryForObject(sql.toString(),
+            (rs, rowNum) -> new ChunkHash(rs.getLong(1), rs.getBigDecimal(2)), chunk.params.toArray());
+    }
+
+    /**
+     * Splits the key range covered by either side into {@code app.migration.verification.chunks}
+     * ranges, plus a chunk for null keys when the key is not the primary key.
+     */
+    private List<Chunk> splitByKey(MigrationMapping mapping, Side sourceSide, Side targetSide) {
+        String keyColumn = sourceSide.keyColumn;
+        long[] source = keyRange(sourceJdbcTemplate, sourceSide);
+        long[] target = keyRange(targetJdbcTemplate, targetSide);
+        List<Chunk> chunks = new ArrayList<>();
+        if (source != null || target != null) {
+            long min = source == null ? target[0] : target == null ? source[0] : Math.min(source[0], target[0]);
+            long max = source == null ? target[1] : target == null ? source[1] : Math.max(source[1], target[1]);
+            long width = Math.max((max - min) / Math.max(properties.getVerification().getChunks(), 1) + 1, 1);
+            for (long from = min; from <= max; from += width) {
+                long to = Math.min(from + width - 1, max);
+                chunks.add(new Chunk(String.format("%s[%d..%d]", keyColumn, from, to),
+                    "%s BETWEEN ? AND ?", List.of(from, to)));
+                if (to == max) {
+                    break;
+                }
+            }
+        }
+        if (!metadata.getPrimaryKey(mapping.getSourceTable()).contains(keyColumn)) {
+            chunks.add(new Chunk(keyColumn + "[null]", "%s IS NULL", List.of()));
+        }
+        if (chunks.isEmpty()) {
+            chunks.add(new Chunk(ALL_ROWS, null, List.of()));
+        }
+        return chunks;
+    }
+
+    private static long[] keyRange(JdbcTemplate jdbcTemplate, Side side) {
+        StringBuilder sql = new StringBuilder("SELECT MIN(").append(side.keyColumn).append("), MAX(")
+                .append(side.keyColumn).append(") FROM ").append(side.table);
+        if (side.filter != null) {
+            sql.append(" WHERE ").append(side.filter);
+        }
+        return jdbcTemplate.queryForObject(sql.toString(), (rs, rowNum) -> {
+            long min = rs.getLong(1);
+            return rs.wasNull() ? null : new long[] {min, rs.getLong(2)};
+        });
+    }
+
+    /**
+     * Pairs each source column with the target column it is copied to unchanged. Without
+     * column mappings every source column is copied under its own name; with them,
+     * target columns filled by transforms or constants cannot be compared and are added
+     * to {@code skipped}.
+     */
+    private static void pairColumns(MigrationMapping mapping, List<ColumnInfo> columns, List<ColumnInfo> sourceColumns,
+                                    List<ColumnInfo> targetColumns, List<String> skipped) {
+        if (mapping.getColumnMappings() == null || mapping.getColumnMappings().isEmpty()) {
+            sourceColumns.addAll(columns);
+            targetColumns.addAll(columns);
+            return;
+        }
+        for (ColumnMapping column : mapping.getColumnMappings()) {
+            String target = column.getTarget() != null ? column.getTarget() : column.getSource();
+            if (column.getSource() == null || (column.getTransforms() != null && !column.getTransforms().isEmpty())) {
+                skipped.add(target);
+                continue;
+            }
+            ColumnInfo source = findColumn(columns, column.getSource());
+            sourceColumns.add(source);
+            targetColumns.add(source.withName(target));
+        }
+    }
+
+    /**
+     * Rewrites the mapping's where clause, written against the source table, in the
+     * target's column names. Every source column it mentions must be copied unchanged,
+     * or the target rows it selects could not be told apart.
+     */
+    private static String translateFilter(String whereClause, List<ColumnInfo> columns,
+                                          List<ColumnInfo> sourceColumns, List<ColumnInfo> targetColumns) {
+        if (whereClause == null || whereClause.trim().isEmpty()) {
+            return null;
+        }
+        Map<String, String> renames = new HashMap<>();
+        for (int c = 0; c < sourceColumns.size(); c++) {
+            renames.put(sourceColumns.get(c).getName().toUpperCase(), targetColumns.get(c).getName());
+        }
+        Set<String> sourceNames = new HashSet<>();
+        columns.forEach(c -> sourceNames.add(c.getName().toUpperCase()));
+        StringBuilder filter = new StringBuilder();
+        Matcher matcher = FILTER_TOKEN.matcher(whereClause);
+        while (matcher.find()) {
+            String token = matcher.group();
+            String name = token.startsWith("\"") ? token.substring(1, token.length() - 1) : token.toUpperCase();
+            String replacement = token;
+            if (!token.startsWith("'") && sourceNames.contains(name)) {
+                replacement = renames.get(name);
+                if (replacement == null) {
+                    throw new IllegalArgumentException("The where clause uses column " + name + 
+                        ", which is not copied unchanged to the target; the target rows cannot be filtered the same way");
+                }
+            }
+            matcher.appendReplacement(filter, Matcher.quoteReplacement(replacement));
+        }
+        matcher.appendTail(filter);
+        return filter.toString();
+    }
+
+    private static ColumnInfo findColumn(List<ColumnInfo> columns, String name) {
+        return columns.stream()
+                .filter(c -> c.getName().equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Source column " + name + " not found"));
+    }
+
+    /**
+     * The mapping's split column or single-column primary key, if it is an integer
+     * NUMBER column; null otherwise.
+     */
+    private String findKeyColumn(MigrationMapping mapping, List<ColumnInfo> columns) {
+        String name = null;
+        if (mapping instanceof TableMapping table && table.getSplitColumn() != null && !table.getSplitColumn().isEmpty()) {
+            name = table.getSplitColumn();
+        } else {
+            List<String> primaryKey = metadata.getPrimaryKey(mapping.getSourceTable());
+            if (primaryKey.size() == 1) {
+                name = primaryKey.get(0);
+            }
+        }
+        String keyColumn = name;
+        return columns.stream()
+                .filter(c -> c.getName().equalsIgnoreCase(keyColumn))
+                .filter(c -> "NUMBER".equals(c.getDataType()) && c.getScale() == 0)
+                .map(ColumnInfo::getName)
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Builds the per-row hash expression, adding the columns it cannot cover to
+     * {@code skipped}. Column hashes are concatenated as decimal strings, which
+     * does not depend on NLS settings, and hashed again.
+     */
+    private static String buildRowHash(List<ColumnInfo> columns, List<String> skipped) {
+        List<String> hashes = new ArrayList<>();
+        for (ColumnInfo column : columns) {
+            String type = column.getDataType();
+            String name = column.getName();
+            if (HASHABLE_TYPES.contains(type) || type.startsWith("TIMESTAMP") || type.startsWith("INTERVAL")) {
+                hashes.add("ORA_HASH(" + name + ")");
+            } else if (LOB_TYPES.contains(type)) {
+                // SQL limits DBMS_LOB.SUBSTR to 2000 bytes of a BLOB and 4000 bytes of a CLOB
+                int prefix = "BLOB".equals(type) ? 2000 : 1000;
+                hashes.add("DBMS_LOB.GETLENGTH(" + name + ") || ':' || ORA_HASH(DBMS_LOB.SUBSTR(" + name + ", " + prefix + ", 1))");
+            } else {
+                skipped.add(name);
+            }
+        }
+        if (hashes.isEmpty()) {
+            return "0";
+        }
+        while (hashes.size() > HASHES_PER_GROUP) {
+            List<String> groups = new ArrayList<>();
+            for (int from = 0; from < hashes.size(); from += HASHES_PER_GROUP) {
+                groups.add(concatHash(hashes.subList(from, Math.min(from + HASHES_PER_GROUP, hashes.size()))));
+            }
+            hashes = groups;
+        }
+        return concatHash(hashes);
+    }
+
+    private static String concatHash(List<String> hashes) {
+        return "ORA_HASH(" + String.join(" || ',' || ", hashes) + ")";
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.dbmigration.service.impl;
+
+import com.example.dbmigration.config.MigrationProperties;
+import com.example.dbmigration.service.WatermarkService;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+public class WatermarkServiceImpl implements WatermarkService {
+
+    private final JdbcTemplate targetJdbcTemplate;
+    private final String tableName;
+
+    public WatermarkServiceImpl(
+            @Qualifier("targetJdbcTemplate") JdbcTemplate targetJdbcTemplate,
+            MigrationProperties properties) {
+        this.targetJdbcTemplate = targetJdbcTemplate;
+        this.tableName = properties.getIncremental().getWatermarkTable();
+    }
+
+    @PostConstruct
+    void createWatermarkTable() {
+        try {
+            Integer existing = targetJdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM user_tables WHERE table_name = ?", Integer.class, tableName.toUpperCase());
+            if (existing != null && existing > 0) {
+                return;
+            }
+            targetJdbcTemplate.execute("CREATE TABLE " + tableName + " (" +
+                "mapping_name VARCHAR2(512) NOT NULL, " +
+                "column_name VARCHAR2(128) NOT NULL, " +
+                "high_water_mark VARCHAR2(100) NOT NULL, " +
+                "updated_at TIMESTAMP NOT NULL, " +
+                "CONSTRAINT " + tableName + "_PK PRIMARY KEY (mapping_name))");
+            log.info("Created watermark table: {}", tableName);
+        } catch (Exception e) {
+            // The target may be unreachable at startup; incremental runs will report the problem
+            log.warn("Unable to verify watermark table {}: {}", tableName, e.getMessage());
+        }
+    }
+
+    @Override
+    public String getWatermark(String mappingName, String column) {
+        List<Map<String, Object>> marks = targetJdbcTemplate.queryForList(
+            "SELECT column_name, high_water_mark FROM " + tableName + " WHERE mapping_name = ?", mappingName);
+        if (marks.isEmpty()) {
+            return null;
+        }
+        String storedColumn = (String) marks.get(0).get("COLUMN_NAME");
+        if (!column.equalsIgnoreCase(storedColumn)) {
+            log.warn("High-water mark of {} was taken on {}, not {}; it is ignored and the next run copies everything",
+                mappingName, storedColumn, column);
+            return null;
+        }
+        return (String) marks.get(0).get("HIGH_WATER_MARK");
+    }
+
+    @Override
+    public void saveWatermark(String mappingName, String column, String value) {
+        String sql = "MERGE INTO " + tableName + " w " +
+                    "USING (SELECT ? mapping_name FROM dual) s " +
+                    "ON (w.mapping_name = s.mapping_name) " +
+                    "WHEN MATCHED THEN UPDATE SET w.column_name = ?, w.high_water_mark = ?, w.updated_at = SYSTIMESTAMP " +
+                    "WHEN NOT MATCHED THEN INSERT (mapping_name, column_name, high_water_mark, updated_at) " +
+                    "VALUES (s.mapping_name, ?, ?, SYSTIMESTAMP)";
+        targetJdbcTemplate.update(sql, mappingName, column, value, column, value);
+        log.info("Saved high-water mark of {}: {} = {}", mappingName, column, value);
+    }
+}